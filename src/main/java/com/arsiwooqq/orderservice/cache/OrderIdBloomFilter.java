@@ -0,0 +1,95 @@
+package com.arsiwooqq.orderservice.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of order IDs. A negative answer means the order definitely does not exist, a positive answer
+ * means it may exist. Bits are set atomically, so IDs can be added while other threads query the filter.
+ */
+public class OrderIdBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder bitCount = new LongAdder();
+
+    /**
+     * Creates a filter sized for the expected number of IDs.
+     *
+     * @param expectedInsertions The expected number of IDs.
+     * @param falsePositiveRate  The target false-positive rate at the expected number of IDs.
+     */
+    public OrderIdBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter parameters: expected insertions "
+                    + expectedInsertions + ", false-positive rate " + falsePositiveRate);
+        }
+        var words = (int) Math.min(Integer.MAX_VALUE - 8,
+                (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2) / Long.SIZE));
+        this.bits = new AtomicLongArray(Math.max(1, words));
+        this.bitSize = (long) bits.length() * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+    }
+
+    public void put(UUID orderId) {
+        var h1 = mix(orderId.getMostSignificantBits());
+        var h2 = mix(orderId.getLeastSignificantBits()) | 1;
+        for (var i = 0; i < hashFunctions; i++) {
+            var index = Math.floorMod(h1 + i * h2, bitSize);
+            if (set(index)) {
+                bitCount.increment();
+            }
+        }
+    }
+
+    public boolean mightContain(UUID orderId) {
+        var h1 = mix(orderId.getMostSignificantBits());
+        var h2 = mix(orderId.getLeastSignificantBits()) | 1;
+        for (var i = 0; i < hashFunctions; i++) {
+            var index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the false-positive rate expected with the current number of set bits.
+     *
+     * @return The false-positive rate between 0 and 1.
+     */
+    public double falsePositiveRate() {
+        return Math.pow((double) bitCount.sum() / bitSize, hashFunctions);
+    }
+
+    public long memoryBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private boolean set(long index) {
+        var word = (int) (index >>> 6);
+        var mask = 1L << index;
+        while (true) {
+            var current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
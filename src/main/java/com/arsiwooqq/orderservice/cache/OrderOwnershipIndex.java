@@ -0,0 +1,248 @@
+package com.arsiwooqq.orderservice.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact in-memory index of order owners. Order ownership never changes after creation, so entries never
+ * expire and are only removed when the order is deleted. Order IDs are stored as two primitive longs in an open-addressing table and user IDs are interned
+ * to int handles, which takes about 20 bytes per order plus one string per distinct user instead of
+ * a map entry with boxed keys per order. Once the maximum size is reached new orders are no longer indexed
+ * and lookups for them fall back to the caller.
+ */
+public class OrderOwnershipIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final int EMPTY = 0;
+    private static final long BYTES_PER_SLOT = Long.BYTES * 2 + Integer.BYTES;
+    private static final long BYTES_PER_USER = 96;
+
+    private final int maximumSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Map<String, Integer> userHandles = new HashMap<>();
+    private final List<String> users = new ArrayList<>();
+    private long userBytes;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private int[] owners;
+    private int size;
+
+    public OrderOwnershipIndex(int maximumSize) {
+        if (maximumSize <= 0 || maximumSize > (1 << 30) * MAX_LOAD_FACTOR) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the owner of the order.
+     *
+     * @param orderId The order ID.
+     * @return The ID of the user owning the order, or null if the order is not indexed.
+     */
+    public String getOwner(UUID orderId) {
+        lock.readLock().lock();
+        try {
+            var slot = find(orderId.getMostSignificantBits(), orderId.getLeastSignificantBits());
+            if (slot < 0) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return users.get(owners[slot] - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the owner of the order. Does nothing if the order is already indexed or the index is full.
+     *
+     * @param orderId The order ID.
+     * @param userId  The ID of the user owning the order.
+     */
+    public void put(UUID orderId, String userId) {
+        if (orderId == null || userId == null) {
+            return;
+        }
+        var msb = orderId.getMostSignificantBits();
+        var lsb = orderId.getLeastSignificantBits();
+        lock.writeLock().lock();
+        try {
+            if (size >= maximumSize || find(msb, lsb) >= 0) {
+                return;
+            }
+            if (size + 1 > owners.length * MAX_LOAD_FACTOR) {
+                allocate(owners.length * 2);
+            }
+            insert(msb, lsb, intern(userId));
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the order from the index, e.g. after it was deleted. Does nothing if the order is not indexed.
+     *
+     * @param orderId The order ID.
+     */
+    public void remove(UUID orderId) {
+        if (orderId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            var slot = find(orderId.getMostSignificantBits(), orderId.getLeastSignificantBits());
+            if (slot < 0) {
+                return;
+            }
+            delete(slot);
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the approximate memory taken by the index: the primitive tables plus the interned user IDs.
+     *
+     * @return The memory in bytes.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return owners.length * BYTES_PER_SLOT + userBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double hitRate() {
+        var hitCount = hits.sum();
+        var total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String name) {
+        Gauge.builder("ownership.index.size", this, OrderOwnershipIndex::size)
+                .tag("index", name)
+                .description("The number of indexed orders")
+                .register(meterRegistry);
+        Gauge.builder("ownership.index.memory", this, OrderOwnershipIndex::memoryBytes)
+                .tag("index", name)
+                .baseUnit("bytes")
+                .description("The approximate memory taken by the index")
+                .register(meterRegistry);
+        Gauge.builder("ownership.index.hit.rate", this, OrderOwnershipIndex::hitRate)
+                .tag("index", name)
+                .description("The ratio of lookups that found the order in the index")
+                .register(meterRegistry);
+        FunctionCounter.builder("ownership.index.lookups", hits, LongAdder::sum)
+                .tags("index", name, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("ownership.index.lookups", misses, LongAdder::sum)
+                .tags("index", name, "result", "miss")
+                .register(meterRegistry);
+    }
+
+    private int find(long msb, long lsb) {
+        var mask = owners.length - 1;
+        for (var slot = hash(msb, lsb) & mask; owners[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (mostSignificantBits[slot] == msb && leastSignificantBits[slot] == lsb) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long msb, long lsb, int owner) {
+        var mask = owners.length - 1;
+        var slot = hash(msb, lsb) & mask;
+        while (owners[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        mostSignificantBits[slot] = msb;
+        leastSignificantBits[slot] = lsb;
+        owners[slot] = owner;
+    }
+
+    /**
+     * Empties the slot and shifts back the following entries of the probe sequence whose home slot is not
+     * between the emptied slot and their current slot, so that lookups never stop at the emptied slot early.
+     */
+    private void delete(int slot) {
+        var mask = owners.length - 1;
+        var empty = slot;
+        for (var next = (slot + 1) & mask; owners[next] != EMPTY; next = (next + 1) & mask) {
+            var home = hash(mostSignificantBits[next], leastSignificantBits[next]) & mask;
+            if (((next - home) & mask) >= ((next - empty) & mask)) {
+                mostSignificantBits[empty] = mostSignificantBits[next];
+                leastSignificantBits[empty] = leastSignificantBits[next];
+                owners[empty] = owners[next];
+                empty = next;
+            }
+        }
+        owners[empty] = EMPTY;
+    }
+
+    private void allocate(int capacity) {
+        var oldMostSignificantBits = mostSignificantBits;
+        var oldLeastSignificantBits = leastSignificantBits;
+        var oldOwners = owners;
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        owners = new int[capacity];
+        if (oldOwners == null) {
+            return;
+        }
+        for (var slot = 0; slot < oldOwners.length; slot++) {
+            if (oldOwners[slot] != EMPTY) {
+                insert(oldMostSignificantBits[slot], oldLeastSignificantBits[slot], oldOwners[slot]);
+            }
+        }
+    }
+
+    private int intern(String userId) {
+        var handle = userHandles.get(userId);
+        if (handle == null) {
+            users.add(userId);
+            handle = users.size();
+            userHandles.put(userId, handle);
+            userBytes += BYTES_PER_USER + userId.length();
+        }
+        return handle;
+    }
+
+    private static int hash(long msb, long lsb) {
+        var h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
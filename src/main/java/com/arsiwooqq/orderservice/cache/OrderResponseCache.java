@@ -0,0 +1,151 @@
+package com.arsiwooqq.orderservice.cache;
+
+import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Bounded in-process cache of assembled order views keyed by order ID. Views are cached with all fields
+ * except user data, which is resolved per request through its own cache.
+ * <p>
+ * Entries are evicted when the order changes, on this instance directly and on other instances from order
+ * changed events, so the TTL only bounds how stale a view may be if such an event is lost. An evicted order
+ * leaves a marker holding the version it was evicted at, and a view is only cached if it is not older than
+ * the entry it replaces, so a view loaded before a change cannot be cached after the change was evicted.
+ * Views loaded before all entries were evicted are not cached either.
+ */
+public class OrderResponseCache {
+    /**
+     * Version to evict a deleted order at. No view of the order is cached afterwards.
+     */
+    public static final long DELETED = Long.MAX_VALUE;
+
+    private final Cache<UUID, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public OrderResponseCache(long maximumSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached view of the given order.
+     *
+     * @param orderId The order ID.
+     * @return The order view, or null if the order is not cached.
+     */
+    public OrderResponse get(UUID orderId) {
+        var entry = cache.getIfPresent(orderId);
+        return entry == null ? null : entry.view();
+    }
+
+    /**
+     * Returns the current generation of the cache, which changes whenever all views are evicted. Must be
+     * taken before loading a view to be {@link #put(UUID, OrderResponse, long) put}.
+     *
+     * @return The cache generation.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches the view of the given order unless all views were evicted since the given generation or
+     * the order is cached or was evicted at a newer version.
+     *
+     * @param orderId    The order ID.
+     * @param view       The order view.
+     * @param generation The cache generation taken before the view was loaded.
+     */
+    public void put(UUID orderId, OrderResponse view, long generation) {
+        if (view.revision() == null) {
+            return;
+        }
+        var version = view.revision().version();
+        cache.asMap().compute(orderId, (id, existing) -> {
+            if (generation != this.generation.get() || existing != null && existing.version() > version) {
+                return existing;
+            }
+            return new Entry(view, version);
+        });
+    }
+
+    /**
+     * Evicts the view of the given order, leaving a marker so that no view older than the given version is
+     * cached afterwards. If a transaction is active, the view is evicted again once the transaction commits,
+     * so that a view loaded by a concurrent reader before the change was committed does not stay cached.
+     * If the transaction rolls back, the marker is removed.
+     *
+     * @param orderId The order ID.
+     * @param version The version of the order after the change, or {@link #DELETED} if it was deleted.
+     */
+    public void evict(UUID orderId, long version) {
+        markEvicted(orderId, version);
+        afterCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                markEvicted(orderId, version);
+            } else {
+                cache.invalidate(orderId);
+            }
+        });
+    }
+
+    /**
+     * Evicts all views, e.g. after a change of an item that may be contained in any order. As with
+     * {@link #evict(UUID, long)}, the views are evicted again once an active transaction completes.
+     */
+    public void evictAll() {
+        invalidateAll();
+        afterCompletion(status -> invalidateAll());
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    private void markEvicted(UUID orderId, long version) {
+        cache.asMap().compute(orderId, (id, existing) -> {
+            if (existing != null && existing.view() == null && existing.version() >= version) {
+                return existing;
+            }
+            return new Entry(null, version);
+        });
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void afterCompletion(IntConsumer eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(status);
+                }
+            });
+        }
+    }
+
+    /**
+     * Cache entry. An entry without a view marks an evicted order.
+     *
+     * @param view    The order view, or null if the order was evicted.
+     * @param version The version of the order.
+     */
+    private record Entry(OrderResponse view, long version) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.arsiwooqq.orderservice.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Table of in-flight calls keyed by request key. Concurrent callers asking for the same key share
+ * one outstanding call and receive its result or its failure.
+ *
+ * @param <K> The key type.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+    private static final Executor CALLER_THREAD = Runnable::run;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the outstanding call for the key, or runs the loader on the calling thread if there is none.
+     *
+     * @param key     The request key.
+     * @param loader  The call to run when no call for the key is outstanding.
+     * @param timeout The maximum time to wait for a call started by another thread.
+     * @return The result of the call.
+     * @throws TimeoutException If the shared call did not complete within the timeout.
+     */
+    public V execute(K key, Supplier<V> loader, Duration timeout) throws TimeoutException {
+        var future = submit(key, loader, CALLER_THREAD);
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for call with key " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the outstanding call for the key, or starts the loader on the given executor if there is none.
+     *
+     * @param key      The request key.
+     * @param loader   The call to run when no call for the key is outstanding.
+     * @param executor The executor to run the loader on.
+     * @return The future of the shared call.
+     */
+    public CompletableFuture<V> submit(K key, Supplier<V> loader, Executor executor) {
+        var created = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> run(key, loader, created));
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void run(K key, Supplier<V> loader, CompletableFuture<V> future) {
+        try {
+            future.complete(loader.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+}
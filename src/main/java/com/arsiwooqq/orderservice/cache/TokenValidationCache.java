@@ -0,0 +1,105 @@
+package com.arsiwooqq.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Bounded in-process cache of token validation results, keyed by the SHA-256 hash of the token so that
+ * raw tokens are not kept in memory. A valid token is cached until its expiration time or for the maximum
+ * TTL, whichever is earlier. A rejected token is cached for a short negative TTL.
+ */
+public class TokenValidationCache {
+    private final Cache<String, TokenValidation> cache;
+    private final Duration maxTtl;
+    private final Duration negativeTtl;
+
+    public TokenValidationCache(long maximumSize, Duration maxTtl, Duration negativeTtl) {
+        this.maxTtl = maxTtl;
+        this.negativeTtl = negativeTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenValidationExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached validation result for the given token.
+     *
+     * @param token The token.
+     * @return True if the token is known to be valid, false if it is known to be invalid,
+     * or null if it is not cached.
+     */
+    public Boolean get(String token) {
+        var validation = cache.getIfPresent(hash(token));
+        return validation != null ? validation.valid() : null;
+    }
+
+    /**
+     * Caches the token as valid until it expires, but no longer than the maximum TTL.
+     * Already expired tokens are not cached.
+     *
+     * @param token     The token.
+     * @param expiresAt The token expiration time, or null if the token does not expire.
+     */
+    public void putValid(String token, Instant expiresAt) {
+        var ttl = maxTtl;
+        if (expiresAt != null) {
+            var untilExpiration = Duration.between(Instant.now(), expiresAt);
+            if (untilExpiration.isNegative() || untilExpiration.isZero()) {
+                return;
+            }
+            if (untilExpiration.compareTo(ttl) < 0) {
+                ttl = untilExpiration;
+            }
+        }
+        cache.put(hash(token), new TokenValidation(true, ttl));
+    }
+
+    public void putInvalid(String token) {
+        cache.put(hash(token), new TokenValidation(false, negativeTtl));
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record TokenValidation(boolean valid, Duration ttl) {
+    }
+
+    private static class TokenValidationExpiry implements Expiry<String, TokenValidation> {
+        @Override
+        public long expireAfterCreate(String key, TokenValidation value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenValidation value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.arsiwooqq.orderservice.cache;
+
+import com.arsiwooqq.orderservice.dto.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-process cache of user profiles fetched from the user service.
+ * Unknown users are cached as negative entries with a shorter TTL, so that repeated lookups
+ * of a missing user do not reach the user service either.
+ * <p>
+ * Every fetched profile is also kept as the last known good value for a much longer stale TTL.
+ * It is served when the fresh entry has expired and the user service is unavailable or slow.
+ */
+public class UserDataCache {
+    private final Cache<String, CachedUserData> cache;
+    private final Cache<String, UserResponse> lastKnown;
+
+    public UserDataCache(long maximumSize, Duration ttl, Duration negativeTtl, Duration staleTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new CachedUserDataExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(staleTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached entry for the given user.
+     *
+     * @param userId The user ID.
+     * @return The cached entry, or null if the user is not cached.
+     */
+    public CachedUserData get(String userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    /**
+     * Returns the last known profile of the given user, regardless of whether its fresh entry has expired.
+     *
+     * @param userId The user ID.
+     * @return The last known user data, or null if there is none.
+     */
+    public UserResponse getStale(String userId) {
+        return lastKnown.getIfPresent(userId);
+    }
+
+    public void put(String userId, UserResponse userData) {
+        cache.put(userId, new CachedUserData(userData));
+        lastKnown.put(userId, userData);
+    }
+
+    public void putUnknown(String userId) {
+        cache.put(userId, CachedUserData.UNKNOWN);
+        lastKnown.invalidate(userId);
+    }
+
+    public void evict(String userId) {
+        cache.invalidate(userId);
+        lastKnown.invalidate(userId);
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        CaffeineCacheMetrics.monitor(meterRegistry, lastKnown, name + "-stale");
+    }
+
+    /**
+     * Cache entry. A null user data marks a user unknown to the user service.
+     */
+    public record CachedUserData(UserResponse userData) {
+        private static final CachedUserData UNKNOWN = new CachedUserData(null);
+
+        public boolean isUnknown() {
+            return userData == null;
+        }
+    }
+
+    private record CachedUserDataExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, CachedUserData> {
+        @Override
+        public long expireAfterCreate(String key, CachedUserData value, long currentTime) {
+            return (value.isUnknown() ? negativeTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedUserData value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedUserData value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.arsiwooqq.orderservice.client;
 
 import com.arsiwooqq.orderservice.dto.ApiResponse;
 import com.arsiwooqq.orderservice.dto.UserResponse;
+import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "user-service", url = "${USER_SERVICE_URL:}")
 public interface UserServiceClient {
@@ -13,7 +17,19 @@ public interface UserServiceClient {
     @CircuitBreaker(name = "user-service", fallbackMethod = "getUserByIdFallback")
     ApiResponse<UserResponse> getById(@PathVariable String id);
 
+    @GetMapping(value = "/api/v1/users", params = "ids")
+    @CircuitBreaker(name = "user-service", fallbackMethod = "getUsersByIdsFallback")
+    ApiResponse<List<UserResponse>> getByIds(@RequestParam List<String> ids);
+
     default ApiResponse<UserResponse> getUserByIdFallback(Exception e) {
         return ApiResponse.error("User service is not available " + e.getMessage());
     }
-}
\ No newline at end of file
+
+    default ApiResponse<UserResponse> getUserByIdFallback(FeignException.NotFound e) {
+        throw e;
+    }
+
+    default ApiResponse<List<UserResponse>> getUsersByIdsFallback(Exception e) {
+        return ApiResponse.error("User service is not available " + e.getMessage());
+    }
+}
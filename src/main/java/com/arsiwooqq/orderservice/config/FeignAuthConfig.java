@@ -1,11 +1,9 @@
 package com.arsiwooqq.orderservice.config;
 
+import com.arsiwooqq.orderservice.security.JwtContextHolder;
 import feign.RequestInterceptor;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Configuration
 public class FeignAuthConfig {
@@ -13,13 +11,9 @@ public class FeignAuthConfig {
     @Bean
     public RequestInterceptor requestInterceptor() {
         return template -> {
-            var attributes = RequestContextHolder.getRequestAttributes();
-            if (attributes instanceof ServletRequestAttributes requestAttributes) {
-                HttpServletRequest request = requestAttributes.getRequest();
-                Object jwt = request.getAttribute("jwt");
-                if (jwt instanceof String) {
-                    template.header("Authorization", "Bearer " + jwt);
-                }
+            var jwt = JwtContextHolder.getToken();
+            if (jwt != null) {
+                template.header("Authorization", "Bearer " + jwt);
             }
         };
     }
@@ -0,0 +1,54 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.repository.IdempotencyRecordRepository;
+import com.arsiwooqq.orderservice.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "orders.idempotency")
+@Validated
+@Getter
+@Setter
+public class IdempotencyConfig {
+
+    @Positive
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a response is returned for retries with the same idempotency key.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a request waits for a concurrent request with the same idempotency key before it is rejected.
+     */
+    @NotNull
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    @NotNull
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+    @Bean
+    public IdempotencyServiceImpl idempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                                                     ObjectMapper objectMapper,
+                                                     TransactionTemplate transactionTemplate,
+                                                     MeterRegistry meterRegistry) {
+        var service = new IdempotencyServiceImpl(idempotencyRecordRepository, objectMapper, transactionTemplate,
+                maximumSize, ttl, waitTimeout);
+        service.bindTo(meterRegistry);
+        return service;
+    }
+}
@@ -0,0 +1,119 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.cache.TokenValidationCache;
+import com.arsiwooqq.orderservice.client.AuthServiceClient;
+import com.arsiwooqq.orderservice.security.JwksKeyProvider;
+import com.arsiwooqq.orderservice.security.LocalTokenValidator;
+import com.arsiwooqq.orderservice.security.RemoteTokenValidator;
+import com.arsiwooqq.orderservice.security.TokenValidator;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.validation.annotation.Validated;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt")
+@Validated
+@Getter
+@Setter
+public class JwtVerificationConfig {
+
+    @NotNull
+    private Mode verification = Mode.REMOTE;
+
+    /**
+     * PEM encoded RSA public key used to verify tokens locally. Takes precedence over the key set.
+     */
+    private Resource publicKey;
+
+    /**
+     * JSON Web Key Set used to verify tokens locally, loaded from a file or URL.
+     */
+    private Resource jwks;
+
+    @NotNull
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+
+    private String issuer;
+
+    /**
+     * Whether locally verified tokens are additionally validated by the auth service to detect revoked tokens.
+     */
+    private boolean revocationCheck = false;
+
+    @Bean
+    @ConditionalOnProperty(name = "security.jwt.verification", havingValue = "remote", matchIfMissing = true)
+    public TokenValidator remoteTokenValidator(AuthServiceClient authServiceClient,
+                                               TokenValidationCache tokenValidationCache) {
+        return new RemoteTokenValidator(authServiceClient, tokenValidationCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.jwt.verification", havingValue = "local")
+    public TokenValidator localTokenValidator(Algorithm jwtAlgorithm,
+                                              AuthServiceClient authServiceClient,
+                                              TokenValidationCache tokenValidationCache) {
+        var verification = JWT.require(jwtAlgorithm);
+        if (issuer != null && !issuer.isBlank()) {
+            verification.withIssuer(issuer);
+        }
+        var revocationValidator = revocationCheck
+                ? new RemoteTokenValidator(authServiceClient, tokenValidationCache)
+                : null;
+        return new LocalTokenValidator(verification.build(), revocationValidator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.jwt.verification", havingValue = "local")
+    public Algorithm jwtAlgorithm(ObjectProvider<JwksKeyProvider> jwksKeyProvider)
+            throws IOException, GeneralSecurityException {
+        if (publicKey != null) {
+            return Algorithm.RSA256(readPublicKey(publicKey), null);
+        }
+        var keyProvider = jwksKeyProvider.getIfAvailable();
+        if (keyProvider != null) {
+            return Algorithm.RSA256(keyProvider);
+        }
+        throw new IllegalStateException(
+                "Local JWT verification requires security.jwt.public-key or security.jwt.jwks to be set");
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${security.jwt.verification:remote}'.equalsIgnoreCase('local') "
+            + "and '${security.jwt.jwks:}' != '' and '${security.jwt.public-key:}' == ''")
+    public JwksKeyProvider jwksKeyProvider(ObjectMapper objectMapper) {
+        return new JwksKeyProvider(jwks, objectMapper);
+    }
+
+    private static RSAPublicKey readPublicKey(Resource resource) throws IOException, GeneralSecurityException {
+        var pem = resource.getContentAsString(StandardCharsets.UTF_8)
+                .replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        var keySpec = new X509EncodedKeySpec(Base64.getDecoder().decode(pem));
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(keySpec);
+    }
+
+    public enum Mode {
+        REMOTE,
+        LOCAL
+    }
+}
@@ -47,6 +47,28 @@ public class KafkaProducerConfig {
                 .build();
     }
 
+    @Value("${kafka.producer.topics.order-changed.name}")
+    private String orderChangedTopicName;
+
+    @Value("${kafka.producer.topics.order-changed.partitions}")
+    private int orderChangedPartitions;
+
+    @Value("${kafka.producer.topics.order-changed.replicas}")
+    private int orderChangedReplicas;
+
+    @Value("${kafka.producer.topics.order-changed.min-insync}")
+    private String orderChangedMinInsync;
+
+    @Bean
+    public NewTopic orderChangedTopic() {
+        return TopicBuilder
+                .name(orderChangedTopicName)
+                .partitions(orderChangedPartitions)
+                .replicas(orderChangedReplicas)
+                .configs(Map.of("min.insync.replicas", orderChangedMinInsync))
+                .build();
+    }
+
     @Bean
     public NewTopic orderCreatedDltTopic() {
         return TopicBuilder
@@ -0,0 +1,37 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.service.impl.JdbcOrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "orders.export")
+@Validated
+@Getter
+@Setter
+public class OrderExportConfig {
+
+    /**
+     * The number of rows fetched from the database per round trip while exporting.
+     */
+    @Positive
+    private int fetchSize = 1000;
+
+    @Bean
+    public JdbcOrderExportService orderExportService(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager,
+                                                     ObjectMapper objectMapper) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return new JdbcOrderExportService(jdbcTemplate, transactionTemplate, objectMapper, fetchSize);
+    }
+}
@@ -0,0 +1,69 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
+import com.arsiwooqq.orderservice.service.impl.BloomOrderIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@ConfigurationProperties(prefix = "orders.id-filter")
+@Validated
+@Getter
+@Setter
+public class OrderIdFilterConfig {
+
+    /**
+     * Whether lookups of orders missing in the Bloom filter are rejected without querying the database.
+     * Orders created on other instances are added from order created events, so such an order may be
+     * reported as missing for the short time until its event is consumed.
+     */
+    private boolean enabled = false;
+
+    @Positive
+    private long expectedInsertions = 10_000_000;
+
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax(value = "1", inclusive = false)
+    private double falsePositiveRate = 0.01;
+
+    @NotNull
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Consumer group of the order created events listener. Every instance consumes all events, so the group
+     * must be unique per process; by default a random suffix is generated on every start. The listener never
+     * resumes from committed offsets, and groups of stopped instances are removed by the broker once their
+     * offsets expire.
+     */
+    @NotBlank
+    private String consumerGroup = "order-service-id-filter-" + UUID.randomUUID();
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.id-filter.enabled", havingValue = "true")
+    public BloomOrderIdFilter bloomOrderIdFilter(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        var filter = new BloomOrderIdFilter(orderRepository, expectedInsertions, falsePositiveRate);
+        filter.bindTo(meterRegistry);
+        return filter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.id-filter.enabled", havingValue = "false", matchIfMissing = true)
+    public OrderIdFilter passThroughOrderIdFilter() {
+        return orderId -> true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.cache.OrderOwnershipIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.ownership-index")
+@Validated
+@Getter
+@Setter
+public class OrderOwnershipIndexConfig {
+
+    @Positive
+    @Max(500_000_000)
+    private int maximumSize = 5_000_000;
+
+    @Bean
+    public OrderOwnershipIndex orderOwnershipIndex(MeterRegistry meterRegistry) {
+        var index = new OrderOwnershipIndex(maximumSize);
+        index.bindTo(meterRegistry, "order-ownership");
+        return index;
+    }
+}
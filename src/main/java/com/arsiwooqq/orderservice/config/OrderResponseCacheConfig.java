@@ -0,0 +1,51 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@ConfigurationProperties(prefix = "orders.response-cache")
+@Validated
+@Getter
+@Setter
+public class OrderResponseCacheConfig {
+
+    /**
+     * The maximum number of cached orders. Zero disables caching.
+     */
+    @PositiveOrZero
+    private long maximumSize = 100_000;
+
+    /**
+     * How long an order is cached. Changes made on other instances are evicted from order changed events,
+     * so the TTL only bounds staleness if such an event is lost.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Consumer group of the order changed events listener. Every instance evicts all changes, so the group
+     * must be unique per process; by default a random suffix is generated on every start.
+     */
+    @NotBlank
+    private String consumerGroup = "order-service-response-cache-" + UUID.randomUUID();
+
+    @Bean
+    public OrderResponseCache orderResponseCache(MeterRegistry meterRegistry) {
+        var cache = new OrderResponseCache(maximumSize, ttl);
+        cache.bindTo(meterRegistry, "order-response");
+        return cache;
+    }
+}
@@ -0,0 +1,53 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.event.relay.OutboxRelay;
+import com.arsiwooqq.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "kafka.outbox")
+@Validated
+@Getter
+@Setter
+public class OutboxConfig {
+
+    /**
+     * Whether order events are written to the outbox table and relayed to Kafka, instead of being sent
+     * directly while handling the request.
+     */
+    private boolean enabled = true;
+
+    @Positive
+    private int batchSize = 500;
+
+    @NotNull
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    @NotNull
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    @Bean
+    @ConditionalOnProperty(name = "kafka.outbox.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   ObjectMapper objectMapper,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxEventRepository, kafkaTemplate, objectMapper, transactionTemplate,
+                meterRegistry, batchSize, sendTimeout);
+    }
+}
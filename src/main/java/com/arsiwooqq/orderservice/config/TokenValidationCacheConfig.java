@@ -0,0 +1,38 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.cache.TokenValidationCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.token-cache")
+@Validated
+@Getter
+@Setter
+public class TokenValidationCacheConfig {
+
+    @Positive
+    private long maximumSize = 10_000;
+
+    @NotNull
+    private Duration maxTtl = Duration.ofMinutes(5);
+
+    @NotNull
+    private Duration negativeTtl = Duration.ofSeconds(10);
+
+    @Bean
+    public TokenValidationCache tokenValidationCache(MeterRegistry meterRegistry) {
+        var cache = new TokenValidationCache(maximumSize, maxTtl, negativeTtl);
+        cache.bindTo(meterRegistry, "token-validation");
+        return cache;
+    }
+}
@@ -0,0 +1,41 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.cache.UserDataCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-data.cache")
+@Validated
+@Getter
+@Setter
+public class UserDataCacheConfig {
+
+    @Positive
+    private long maximumSize = 10_000;
+
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @NotNull
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    @NotNull
+    private Duration staleTtl = Duration.ofHours(24);
+
+    @Bean
+    public UserDataCache userDataCache(MeterRegistry meterRegistry) {
+        var cache = new UserDataCache(maximumSize, ttl, negativeTtl, staleTtl);
+        cache.bindTo(meterRegistry, "user-data");
+        return cache;
+    }
+}
@@ -0,0 +1,28 @@
+package com.arsiwooqq.orderservice.config;
+
+import com.arsiwooqq.orderservice.security.JwtContextHolder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Bounded pool for concurrent user data lookups. Tasks carry the caller's JWT, so Feign calls made on
+ * pool threads are authenticated as the caller. It is intentionally not an {@link java.util.concurrent.Executor}
+ * bean, so it does not replace the auto-configured application task executor.
+ */
+public class UserDataExecutor implements DisposableBean {
+    private final ExecutorService executorService;
+
+    public UserDataExecutor(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public void execute(Runnable task) {
+        executorService.execute(JwtContextHolder.propagate(task));
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+}
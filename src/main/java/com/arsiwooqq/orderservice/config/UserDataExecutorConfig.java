@@ -0,0 +1,49 @@
+package com.arsiwooqq.orderservice.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-data.executor")
+@Validated
+@Getter
+@Setter
+public class UserDataExecutorConfig {
+
+    @Positive
+    private int poolSize = 32;
+
+    @PositiveOrZero
+    private int queueCapacity = 1000;
+
+    @NotNull
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    @Bean
+    public UserDataExecutor userDataExecutor() {
+        var executorService = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                keepAlive.toMillis(),
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("user-data-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executorService.allowCoreThreadTimeOut(true);
+        return new UserDataExecutor(executorService);
+    }
+}
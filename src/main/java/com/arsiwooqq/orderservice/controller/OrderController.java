@@ -1,74 +1,183 @@
 package com.arsiwooqq.orderservice.controller;
 
 import com.arsiwooqq.orderservice.dto.*;
+import com.arsiwooqq.orderservice.service.IdempotencyService;
+import com.arsiwooqq.orderservice.service.OrderExportService;
 import com.arsiwooqq.orderservice.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/orders")
 public class OrderController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderExportService orderExportService;
 
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN') or @securityService.canCreateOrder(authentication.principal, #request)")
-    public ResponseEntity<ApiResponse<OrderResponse>> create(@RequestBody @Valid OrderCreateRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Order created", orderService.create(request)));
+    @PreAuthorize("hasAnyRole('ADMIN') or @securityService.canCreateOrder(authentication.name, #request)")
+    public ResponseEntity<ApiResponse<OrderResponse>> create(
+            @RequestBody @Valid OrderCreateRequest request,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Size(max = 255, message = "Idempotency key must be at most 255 characters") String idempotencyKey) {
+        var orderFields = OrderFields.of(fields);
+        var response = idempotencyKey == null
+                ? orderService.create(request, orderFields)
+                : idempotencyService.execute(idempotencyKey, fingerprint(request, orderFields), OrderResponse.class,
+                        () -> orderService.create(request, orderFields));
+        // A response replayed from the database carries no selection, restore it
+        response = response.select(orderFields, response.userResponse());
+        return ResponseEntity.ok(ApiResponse.success("Order created", response));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.canCreateOrders(authentication.name, #request)")
+    public ResponseEntity<ApiResponse<List<OrderBatchResult>>> createAll(
+            @RequestBody @Valid OrderBatchCreateRequest request,
+            @RequestParam(required = false) Set<String> fields) {
+        var results = orderService.createAll(request.orders(), OrderFields.of(fields));
+        var created = results.stream().filter(OrderBatchResult::success).count();
+        return ResponseEntity.ok(ApiResponse.success(created + " of " + results.size() + " orders created", results));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessOrder(authentication.principal, #id)")
-    public ResponseEntity<ApiResponse<OrderResponse>> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(ApiResponse.success("Order found", orderService.getById(id)));
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<OrderResponse>> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var eTag = toETag(orderService.getRevision(id));
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.toString()).build();
+            }
+        }
+        var order = orderService.getById(id, OrderFields.of(fields));
+        var response = ResponseEntity.ok();
+        if (order.revision() != null) {
+            response.eTag(toETag(order.revision()).toString());
+        }
+        return response.body(ApiResponse.success("Order found", order));
     }
 
     @GetMapping(params = "ids")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessOrders(authentication.principal, #ids)")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessOrders(authentication.name, #ids)")
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllByIdsIn(
-            @RequestParam(required = false) List<UUID> ids) {
+            @RequestParam(required = false) List<UUID> ids,
+            @RequestParam(required = false) Set<String> fields) {
         if (ids == null || ids.isEmpty()) {
             return ResponseEntity.ok(ApiResponse.success("Orders found"));
         }
-        return ResponseEntity.ok(ApiResponse.success("Orders found", orderService.getAllByIds(ids)));
+        return ResponseEntity.ok(ApiResponse.success("Orders found", orderService.getAllByIds(ids, OrderFields.of(fields))));
     }
 
     @GetMapping(params = "statuses")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllByStatusesIn(
-            @RequestParam(required = false) List<String> statuses) {
+    public ResponseEntity<ApiResponse<OrderPage>> getPageByStatusesIn(
+            @RequestParam(required = false) List<String> statuses,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE)
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Page size must be at most " + MAX_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields) {
         if (statuses == null || statuses.isEmpty()) {
-            return ResponseEntity.ok(ApiResponse.success("Orders found"));
+            return ResponseEntity.ok(ApiResponse.success("Orders found", OrderPage.empty()));
         }
-        return ResponseEntity.ok(ApiResponse.success("Orders found", orderService.getAllByStatuses(statuses)));
+        return ResponseEntity.ok(ApiResponse.success("Orders found",
+                orderService.getPageByStatuses(statuses, pageToken, size, OrderFields.of(fields))));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        var response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (!gzip) {
+            return response.body(out -> orderExportService.exportByCreationDate(from, to, out));
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    var gzipOut = new GZIPOutputStream(out, 64 * 1024, true);
+                    orderExportService.exportByCreationDate(from, to, gzipOut);
+                    gzipOut.finish();
+                });
     }
 
     @PatchMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canManageOrder(authentication.principal, #id)")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<OrderResponse>> update(
             @PathVariable UUID id,
-            @RequestBody @Valid OrderUpdateRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Order updated", orderService.update(id, request)));
+            @RequestBody @Valid OrderUpdateRequest request,
+            @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(ApiResponse.success("Order updated",
+                orderService.update(id, request, OrderFields.of(fields))));
     }
 
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<OrderResponse>> changeOrderStatus(
             @PathVariable UUID id,
-            @RequestBody @Valid ChangeOrderStatusRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Order status changed", orderService.changeStatus(id, request)));
+            @RequestBody @Valid ChangeOrderStatusRequest request,
+            @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(ApiResponse.success("Order status changed",
+                orderService.changeStatus(id, request, OrderFields.of(fields))));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canManageOrder(authentication.principal, #id)")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable UUID id) {
         orderService.delete(id);
         return ResponseEntity.ok(ApiResponse.success("Order deleted"));
     }
+
+    /**
+     * Returns what identifies a create request for idempotency, so a key reused with a different field selection
+     * is rejected. Requests for all fields are identified by the body alone.
+     */
+    private static Object fingerprint(OrderCreateRequest request, OrderFields fields) {
+        return fields.isAll() ? request : new CreateFingerprint(request, fields.sortedNames());
+    }
+
+    /**
+     * Builds the entity tag of an order from its revision. The tag is weak because it does not cover
+     * the user data embedded in the response, which is owned by the user service.
+     */
+    private static ETag toETag(OrderRevision revision) {
+        return new ETag(revision.tag(), true);
+    }
+
+    private static boolean matches(String ifNoneMatch, ETag eTag) {
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(eTag, false));
+    }
+
+    private record CreateFingerprint(OrderCreateRequest request, List<String> fields) {
+    }
 }
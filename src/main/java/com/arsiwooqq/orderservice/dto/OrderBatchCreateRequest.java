@@ -0,0 +1,15 @@
+package com.arsiwooqq.orderservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderBatchCreateRequest(
+        @NotEmpty(message = "Orders are required")
+        @Size(max = 1000, message = "At most 1000 orders can be created at once")
+        List<@Valid @NotNull(message = "Order is required") OrderCreateRequest> orders
+) {
+}
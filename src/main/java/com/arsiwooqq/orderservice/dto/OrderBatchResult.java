@@ -0,0 +1,22 @@
+package com.arsiwooqq.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of creating one order of a batch. Index refers to the position of the order in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBatchResult(
+        int index,
+        boolean success,
+        OrderResponse order,
+        String error
+) {
+    public static OrderBatchResult created(int index, OrderResponse order) {
+        return new OrderBatchResult(index, true, order, null);
+    }
+
+    public static OrderBatchResult failed(int index, String error) {
+        return new OrderBatchResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,68 @@
+package com.arsiwooqq.orderservice.dto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selection of {@link OrderResponse} fields requested by a client. Unknown field names are ignored,
+ * an empty selection means all fields.
+ */
+public record OrderFields(Set<String> names) {
+    public static final String ID = "id";
+    public static final String USER_ID = "userId";
+    public static final String STATUS = "status";
+    public static final String CREATION_DATE = "creationDate";
+    public static final String TOTAL_AMOUNT = "totalAmount";
+    public static final String ITEM_COUNT = "itemCount";
+    public static final String ORDER_ITEMS = "orderItems";
+    public static final String USER_DATA = "userData";
+
+    public static final Set<String> SUPPORTED = Set.of(ID, USER_ID, STATUS, CREATION_DATE, TOTAL_AMOUNT, ITEM_COUNT,
+            ORDER_ITEMS, USER_DATA);
+
+    public static final OrderFields ALL = new OrderFields(SUPPORTED);
+
+    public OrderFields {
+        names = names == null ? Set.of() : Set.copyOf(names);
+    }
+
+    public static OrderFields of(Collection<String> fields) {
+        if (fields == null) {
+            return ALL;
+        }
+        var names = fields.stream()
+                .map(String::trim)
+                .filter(SUPPORTED::contains)
+                .collect(Collectors.toUnmodifiableSet());
+        return names.isEmpty() ? ALL : new OrderFields(names);
+    }
+
+    public static OrderFields of(String... fields) {
+        return of(List.of(fields));
+    }
+
+    public boolean includes(String field) {
+        return names.contains(field);
+    }
+
+    public boolean includesUserData() {
+        return includes(USER_DATA);
+    }
+
+    public boolean isAll() {
+        return names.containsAll(SUPPORTED);
+    }
+
+    /**
+     * Returns the selected field names in a stable order, independent of the order they were requested in.
+     *
+     * @return The sorted field names.
+     */
+    public List<String> sortedNames() {
+        return names.stream()
+                .sorted()
+                .toList();
+    }
+}
@@ -4,6 +4,7 @@ import com.arsiwooqq.orderservice.entity.Item;
 
 public record OrderItemResponse(
         Item item,
-        Integer quantity
+        Integer quantity,
+        Long unitPrice
 ) {
 }
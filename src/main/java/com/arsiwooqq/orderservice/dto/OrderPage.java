@@ -0,0 +1,18 @@
+package com.arsiwooqq.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Page of orders. The next page token is absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderPage(
+        List<OrderResponse> orders,
+        String nextPageToken
+) {
+    public static OrderPage empty() {
+        return new OrderPage(List.of(), null);
+    }
+}
@@ -1,21 +1,86 @@
 package com.arsiwooqq.orderservice.dto;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
+/**
+ * Order response. Only the selected fields are serialized; a selected field without a value is serialized
+ * as {@code null}. A response without a selection includes all fields.
+ */
+@JsonSerialize(using = OrderResponse.Serializer.class)
 public record OrderResponse(
         UUID id,
         String userId,
         OrderStatus status,
         LocalDate creationDate,
+        Long totalAmount,
+        Integer itemCount,
         List<OrderItemResponse> orderItems,
         @JsonProperty("userData")
-        UserResponse userResponse
+        UserResponse userResponse,
+        @JsonIgnore
+        OrderRevision revision,
+        @JsonIgnore
+        OrderFields fields
 ) {
+    /**
+     * Returns a copy of this response containing only the requested fields. The revision is always kept.
+     *
+     * @param fields The requested fields.
+     * @param user   The user data, ignored if user data is not requested.
+     * @return The order response.
+     */
+    public OrderResponse select(OrderFields fields, UserResponse user) {
+        return new OrderResponse(
+                fields.includes(OrderFields.ID) ? id : null,
+                fields.includes(OrderFields.USER_ID) ? userId : null,
+                fields.includes(OrderFields.STATUS) ? status : null,
+                fields.includes(OrderFields.CREATION_DATE) ? creationDate : null,
+                fields.includes(OrderFields.TOTAL_AMOUNT) ? totalAmount : null,
+                fields.includes(OrderFields.ITEM_COUNT) ? itemCount : null,
+                fields.includes(OrderFields.ORDER_ITEMS) ? orderItems : null,
+                fields.includesUserData() ? user : null,
+                revision,
+                fields
+        );
+    }
+
+    public static class Serializer extends StdSerializer<OrderResponse> {
+        public Serializer() {
+            super(OrderResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderResponse value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            var fields = value.fields() == null ? OrderFields.ALL : value.fields();
+            gen.writeStartObject(value);
+            writeField(gen, provider, fields, OrderFields.ID, value.id());
+            writeField(gen, provider, fields, OrderFields.USER_ID, value.userId());
+            writeField(gen, provider, fields, OrderFields.STATUS, value.status());
+            writeField(gen, provider, fields, OrderFields.CREATION_DATE, value.creationDate());
+            writeField(gen, provider, fields, OrderFields.TOTAL_AMOUNT, value.totalAmount());
+            writeField(gen, provider, fields, OrderFields.ITEM_COUNT, value.itemCount());
+            writeField(gen, provider, fields, OrderFields.ORDER_ITEMS, value.orderItems());
+            writeField(gen, provider, fields, OrderFields.USER_DATA, value.userResponse());
+            gen.writeEndObject();
+        }
+
+        private void writeField(JsonGenerator gen, SerializerProvider provider, OrderFields fields, String name,
+                                Object value) throws IOException {
+            if (fields.includes(name)) {
+                provider.defaultSerializeField(name, value, gen);
+            }
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package com.arsiwooqq.orderservice.dto;
+
+import com.arsiwooqq.orderservice.entity.Order;
+import com.arsiwooqq.orderservice.entity.OrderItem;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Revision of an order representation: the order version together with the last update of the items it
+ * embeds. Item changes do not touch the order row, so they are tracked on the item side instead.
+ *
+ * @param version        The order version.
+ * @param itemsUpdatedAt The latest update time of the order items, or {@code null} if the order has no items.
+ */
+public record OrderRevision(long version, Instant itemsUpdatedAt) {
+    public static OrderRevision of(Order order) {
+        if (order.getVersion() == null) {
+            return null;
+        }
+        return new OrderRevision(order.getVersion(), latestUpdate(order.getOrderItems()));
+    }
+
+    /**
+     * Returns an opaque tag identifying this revision.
+     */
+    public String tag() {
+        if (itemsUpdatedAt == null) {
+            return Long.toString(version);
+        }
+        return version + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, itemsUpdatedAt);
+    }
+
+    private static Instant latestUpdate(List<OrderItem> orderItems) {
+        if (orderItems == null) {
+            return null;
+        }
+        return orderItems.stream()
+                .map(orderItem -> orderItem.getItem().getUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.arsiwooqq.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Response of a request made with an idempotency key, kept until it expires so that retries of the same
+ * request are answered with it instead of being executed again.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "response", nullable = false)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Idempotency keys are chosen by clients, so they are only unique per principal.
+     */
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Column(name = "principal")
+        private String principal;
+
+        @Column(name = "idempotency_key")
+        private String idempotencyKey;
+    }
+}
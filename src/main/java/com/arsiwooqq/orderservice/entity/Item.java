@@ -1,11 +1,16 @@
 package com.arsiwooqq.orderservice.entity;
 
+import com.arsiwooqq.orderservice.entity.id.UuidV7;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
@@ -16,7 +21,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @Column(name = "name", nullable = false)
@@ -24,4 +29,15 @@ public class Item {
 
     @Column(name = "price", nullable = false)
     private Long price;
+
+    @JsonIgnore
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public Item(UUID id, String name, Long price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
 }
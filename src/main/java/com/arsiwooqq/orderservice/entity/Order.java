@@ -1,5 +1,6 @@
 package com.arsiwooqq.orderservice.entity;
 
+import com.arsiwooqq.orderservice.entity.id.UuidV7;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @Column(name = "userId", nullable = false)
@@ -30,13 +31,36 @@ public class Order {
     @Column(name = "creation_date", nullable = false)
     private LocalDate creationDate;
 
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
     }
 
+    /**
+     * Recalculates the total amount and the item count from the order items and their price snapshots.
+     * Must be called whenever the order items change.
+     */
+    public void recalculateTotals() {
+        totalAmount = orderItems.stream()
+                .mapToLong(OrderItem::getAmount)
+                .sum();
+        itemCount = orderItems.stream()
+                .mapToInt(OrderItem::getQuantity)
+                .sum();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
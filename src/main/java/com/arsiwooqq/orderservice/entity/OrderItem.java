@@ -1,5 +1,6 @@
 package com.arsiwooqq.orderservice.entity;
 
+import com.arsiwooqq.orderservice.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +14,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class OrderItem {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @ManyToOne
@@ -27,4 +28,15 @@ public class OrderItem {
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
+
+    /**
+     * Price of the item at the time the order item was created. Later changes of the item price
+     * do not affect existing orders.
+     */
+    @Column(name = "unit_price", nullable = false)
+    private Long unitPrice;
+
+    public long getAmount() {
+        return unitPrice * quantity;
+    }
 }
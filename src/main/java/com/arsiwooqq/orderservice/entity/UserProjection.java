@@ -0,0 +1,44 @@
+package com.arsiwooqq.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Local copy of a user profile, maintained from user change events published by the user service.
+ * Deleted users are kept as tombstones without profile data, so events older than the deletion are ignored.
+ */
+@Entity
+@Table(name = "user_projection")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProjection {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "surname")
+    private String surname;
+
+    @Column(name = "birth_date")
+    private LocalDate birthDate;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+}
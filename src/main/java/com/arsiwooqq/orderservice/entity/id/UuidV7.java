@@ -0,0 +1,18 @@
+package com.arsiwooqq.orderservice.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates entity identifiers as time-ordered version 7 UUIDs, so that new rows are appended to the end of
+ * primary key and foreign key indexes instead of being scattered across them.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
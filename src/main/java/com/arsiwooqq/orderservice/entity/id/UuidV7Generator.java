@@ -0,0 +1,49 @@
+package com.arsiwooqq.orderservice.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Generator of version 7 UUIDs as defined in RFC 9562: a 48-bit Unix timestamp in milliseconds,
+ * a 12-bit counter that keeps identifiers generated within the same millisecond ordered, and 62 random bits.
+ * When the counter overflows the timestamp is advanced, so identifiers are strictly increasing
+ * within the JVM even if the clock goes backwards.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+
+    public static UUID generate() {
+        var now = System.currentTimeMillis() << COUNTER_BITS;
+        var timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+        var timestamp = timestampAndCounter >>> COUNTER_BITS;
+        var counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+        var mostSignificantBits = timestamp << 16 | VERSION | counter;
+        var leastSignificantBits = RANDOM.nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,11 @@
+package com.arsiwooqq.orderservice.enums;
+
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    @JsonEnumDefaultValue
+    UNKNOWN
+}
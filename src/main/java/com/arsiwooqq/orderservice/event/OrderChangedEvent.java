@@ -0,0 +1,15 @@
+package com.arsiwooqq.orderservice.event;
+
+import java.util.UUID;
+
+/**
+ * Published when the view of an order changes, so every instance evicts it from its order response cache.
+ *
+ * @param orderId The order ID, or {@code null} if any order may have changed, e.g. after an item change.
+ * @param version The version of the order after the change, or {@code null} if the order was deleted.
+ */
+public record OrderChangedEvent(
+        UUID orderId,
+        Long version
+) {
+}
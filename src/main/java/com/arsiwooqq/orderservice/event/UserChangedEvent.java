@@ -0,0 +1,16 @@
+package com.arsiwooqq.orderservice.event;
+
+import com.arsiwooqq.orderservice.enums.UserChangeType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record UserChangedEvent(
+        String userId,
+        UserChangeType type,
+        String name,
+        String surname,
+        LocalDate birthDate,
+        String email,
+        Instant occurredAt
+) {}
@@ -1,7 +1,14 @@
 package com.arsiwooqq.orderservice.event.publisher;
 
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
 import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
 
+import java.util.List;
+
 public interface OrderEventPublisher {
     void publishOrderCreated(OrderCreatedEvent event);
+
+    void publishOrdersCreated(List<OrderCreatedEvent> events);
+
+    void publishOrderChanged(OrderChangedEvent event);
 }
@@ -1,22 +1,33 @@
 package com.arsiwooqq.orderservice.event.publisher.impl;
 
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
 import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
 import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "kafka.outbox.enabled", havingValue = "false")
 public class KafkaOrderEventPublisher implements OrderEventPublisher {
 
     @Value("${kafka.producer.topics.order-created.name}")
     private String topicName;
 
+    @Value("${kafka.producer.topics.order-changed.name}")
+    private String orderChangedTopicName;
+
     private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+    private final KafkaTemplate<String, Object> orderChangedKafkaTemplate;
 
     @Override
     public void publishOrderCreated(OrderCreatedEvent event) {
@@ -30,4 +41,47 @@ public class KafkaOrderEventPublisher implements OrderEventPublisher {
             }
         });
     }
+
+    /**
+     * Sends all events without waiting for each of them and then flushes the producer,
+     * so the events leave in as few producer batches as possible.
+     *
+     * @param events The events to publish.
+     */
+    @Override
+    public void publishOrdersCreated(List<OrderCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        events.forEach(this::publishOrderCreated);
+        kafkaTemplate.flush();
+        log.debug("{} order created events flushed to Kafka", events.size());
+    }
+
+    /**
+     * Sends the event once the current transaction commits, so other instances do not reload and cache
+     * the order before the change is visible to them.
+     *
+     * @param event The event to publish.
+     */
+    @Override
+    public void publishOrderChanged(OrderChangedEvent event) {
+        Runnable send = () -> orderChangedKafkaTemplate
+                .send(orderChangedTopicName, event.orderId() == null ? null : event.orderId().toString(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Error sending message to Kafka: {}", ex.getMessage());
+                    }
+                });
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
 }
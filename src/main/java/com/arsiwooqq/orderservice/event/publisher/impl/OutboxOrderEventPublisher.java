@@ -0,0 +1,79 @@
+package com.arsiwooqq.orderservice.event.publisher.impl;
+
+import com.arsiwooqq.orderservice.entity.OutboxEvent;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
+import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
+import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
+import com.arsiwooqq.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes order events through the outbox table. Events are written in the caller's transaction,
+ * so they are sent only if the order is saved, and the broker is not on the request path.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "kafka.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxOrderEventPublisher implements OrderEventPublisher {
+
+    @Value("${kafka.producer.topics.order-created.name}")
+    private String topicName;
+
+    @Value("${kafka.producer.topics.order-changed.name}")
+    private String orderChangedTopicName;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderCreated(OrderCreatedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        log.debug("Order created event for order ID: {} written to outbox", event.orderId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrdersCreated(List<OrderCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(events.stream()
+                .map(this::toOutboxEvent)
+                .toList());
+        log.debug("{} order created events written to outbox", events.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderChanged(OrderChangedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(orderChangedTopicName,
+                event.orderId() == null ? null : event.orderId().toString(), event));
+        log.debug("Order changed event for order ID: {} written to outbox", event.orderId());
+    }
+
+    private OutboxEvent toOutboxEvent(OrderCreatedEvent event) {
+        return toOutboxEvent(topicName, event.orderId().toString(), event);
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, String messageKey, Object event) {
+        try {
+            return new OutboxEvent(null, topic, messageKey, event.getClass().getName(),
+                    objectMapper.writeValueAsString(event), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event, e);
+        }
+    }
+}
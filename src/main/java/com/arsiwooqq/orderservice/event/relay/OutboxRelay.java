@@ -0,0 +1,127 @@
+package com.arsiwooqq.orderservice.event.relay;
+
+import com.arsiwooqq.orderservice.entity.OutboxEvent;
+import com.arsiwooqq.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table into Kafka. Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, sent without
+ * waiting for individual acknowledgements, flushed, and deleted once all sends succeeded, all in one
+ * transaction. If any send fails the transaction rolls back and the batch is retried on the next run,
+ * so events are delivered at least once and may be duplicated.
+ */
+@Slf4j
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    private final Counter relayedEvents;
+    private final Timer relayLag;
+    private final AtomicLong oldestEventAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       int batchSize,
+                       Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.relayedEvents = Counter.builder("outbox.relay.events")
+                .description("The number of events sent from the outbox")
+                .register(meterRegistry);
+        this.relayLag = Timer.builder("outbox.relay.lag")
+                .description("The time between writing an event to the outbox and sending it")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.oldest.event.age", oldestEventAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("The age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is drained or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${kafka.outbox.poll-interval:200ms}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay outbox events, retrying on next run: {}", e.getMessage());
+        } finally {
+            updateOldestEventAge();
+        }
+    }
+
+    private int relayBatch() {
+        var events = outboxEventRepository.lockBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        var futures = events.stream()
+                .map(event -> kafkaTemplate.send(event.getTopic(), event.getMessageKey(), deserialize(event)))
+                .toArray(CompletableFuture[]::new);
+        kafkaTemplate.flush();
+        try {
+            CompletableFuture.allOf(futures).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending outbox events", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to send outbox events", e);
+        }
+
+        outboxEventRepository.deleteAllInBatch(events);
+        var now = Instant.now();
+        events.forEach(event -> relayLag.record(Duration.between(event.getCreatedAt(), now)));
+        relayedEvents.increment(events.size());
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+
+    private Object deserialize(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(),
+                    ClassUtils.forName(event.getEventType(), getClass().getClassLoader()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to deserialize outbox event with ID: " + event.getId(), e);
+        }
+    }
+
+    private void updateOldestEventAge() {
+        try {
+            oldestEventAgeMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                    .map(event -> Duration.between(event.getCreatedAt(), Instant.now()).toMillis())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.debug("Failed to read oldest outbox event: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.arsiwooqq.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyInProgressException extends ApiException {
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super("Request with idempotency key " + idempotencyKey + " is still in progress", HttpStatus.CONFLICT);
+    }
+}
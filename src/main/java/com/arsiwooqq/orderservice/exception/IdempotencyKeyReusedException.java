@@ -0,0 +1,10 @@
+package com.arsiwooqq.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyReusedException extends ApiException {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different request",
+                HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
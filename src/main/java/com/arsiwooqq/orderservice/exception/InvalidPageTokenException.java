@@ -0,0 +1,9 @@
+package com.arsiwooqq.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidPageTokenException extends ApiException {
+    public InvalidPageTokenException() {
+        super("Invalid page token", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -4,6 +4,7 @@ import com.arsiwooqq.orderservice.dto.ApiResponse;
 import com.arsiwooqq.orderservice.exception.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -131,6 +132,14 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Parameter is missing: " + e.getParameterName()));
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.debug("Concurrent modification detected: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Resource was modified concurrently, retry the request"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneralException(Exception e) {
         log.error("Exception occurred: {}. Message: {}", e.getClass(), e.getMessage());
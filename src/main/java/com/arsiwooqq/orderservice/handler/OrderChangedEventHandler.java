@@ -0,0 +1,52 @@
+package com.arsiwooqq.orderservice.handler;
+
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Evicts orders changed on any instance from this instance's order response cache. Every instance consumes
+ * all events, so the listener uses a consumer group generated for the process. On assignment it seeks to the
+ * events produced since the instance started, so changes committed while the listener was starting are not
+ * missed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderChangedEventHandler implements ConsumerSeekAware {
+
+    /**
+     * How far before the start of the instance events are replayed, to allow for clock skew between instances.
+     */
+    private static final Duration CLOCK_SKEW_ALLOWANCE = Duration.ofMinutes(1);
+
+    private final Instant startedAt = Instant.now();
+
+    private final OrderResponseCache orderResponseCache;
+
+    @KafkaListener(
+            topics = "${kafka.producer.topics.order-changed.name}",
+            groupId = "#{@orderResponseCacheConfig.consumerGroup}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handle(OrderChangedEvent event) {
+        if (event.orderId() == null) {
+            orderResponseCache.evictAll();
+        } else {
+            orderResponseCache.evict(event.orderId(),
+                    event.version() == null ? OrderResponseCache.DELETED : event.version());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToTimestamp(assignments.keySet(), startedAt.minus(CLOCK_SKEW_ALLOWANCE).toEpochMilli());
+    }
+}
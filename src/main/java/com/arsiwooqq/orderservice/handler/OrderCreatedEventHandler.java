@@ -0,0 +1,51 @@
+package com.arsiwooqq.orderservice.handler;
+
+import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Adds orders created on any instance to this instance's order ID filter. Every instance consumes all
+ * events, so the listener uses a consumer group generated for the process. On assignment it seeks to the
+ * events produced since the instance started, so every order committed after the snapshot of the first
+ * filter build is consumed, whatever the order in which the listener and the build start.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orders.id-filter.enabled", havingValue = "true")
+public class OrderCreatedEventHandler implements ConsumerSeekAware {
+
+    /**
+     * How far before the start of the instance events are replayed, to allow for clock skew between instances.
+     */
+    private static final Duration CLOCK_SKEW_ALLOWANCE = Duration.ofMinutes(1);
+
+    private final Instant startedAt = Instant.now();
+
+    private final OrderIdFilter orderIdFilter;
+
+    @KafkaListener(
+            topics = "${kafka.producer.topics.order-created.name}",
+            groupId = "#{@orderIdFilterConfig.consumerGroup}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handle(OrderCreatedEvent event) {
+        if (event.orderId() != null) {
+            orderIdFilter.add(event.orderId());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToTimestamp(assignments.keySet(), startedAt.minus(CLOCK_SKEW_ALLOWANCE).toEpochMilli());
+    }
+}
@@ -1,6 +1,7 @@
 package com.arsiwooqq.orderservice.handler;
 
 import com.arsiwooqq.orderservice.dto.ChangeOrderStatusRequest;
+import com.arsiwooqq.orderservice.dto.OrderFields;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 import com.arsiwooqq.orderservice.enums.PaymentStatus;
 import com.arsiwooqq.orderservice.event.PaymentCreatedEvent;
@@ -21,7 +22,8 @@ public class PaymentCreatedEventHandler {
     public void handle(PaymentCreatedEvent event) {
         if (event.status() == PaymentStatus.PAID) {
             try {
-                orderService.changeStatus(event.orderId(), new ChangeOrderStatusRequest(OrderStatus.PAID));
+                orderService.changeStatus(event.orderId(), new ChangeOrderStatusRequest(OrderStatus.PAID),
+                        OrderFields.of(OrderFields.ID));
             } catch (OrderNotFoundException e) {
                 throw new NotRetryableException(e);
             }
@@ -0,0 +1,21 @@
+package com.arsiwooqq.orderservice.handler;
+
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+import com.arsiwooqq.orderservice.service.UserProjectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user-data.source", havingValue = "projection")
+public class UserChangedEventHandler {
+
+    private final UserProjectionService userProjectionService;
+
+    @KafkaListener(topics = "USER_CHANGED", properties = "auto.offset.reset=earliest")
+    public void handle(UserChangedEvent event) {
+        userProjectionService.apply(event);
+    }
+}
@@ -12,10 +12,12 @@ import org.mapstruct.MappingTarget;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface ItemMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Item toEntity(ItemCreateRequest itemCreateRequest);
 
     ItemResponse toResponse(Item item);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void update(ItemUpdateRequest itemUpdateRequest, @MappingTarget Item item);
 }
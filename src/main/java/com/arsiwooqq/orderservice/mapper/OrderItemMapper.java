@@ -14,5 +14,6 @@ public interface OrderItemMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "order", ignore = true)
     @Mapping(target = "item", ignore = true)
+    @Mapping(target = "unitPrice", ignore = true)
     OrderItem toEntity(OrderItemRequest orderItemRequest);
 }
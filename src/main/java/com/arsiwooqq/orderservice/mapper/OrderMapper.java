@@ -1,26 +1,66 @@
 package com.arsiwooqq.orderservice.mapper;
 
 import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
+import com.arsiwooqq.orderservice.dto.OrderFields;
+import com.arsiwooqq.orderservice.dto.OrderItemResponse;
 import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.dto.OrderRevision;
 import com.arsiwooqq.orderservice.dto.UserResponse;
 import com.arsiwooqq.orderservice.entity.Order;
+import com.arsiwooqq.orderservice.entity.OrderItem;
 import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
+import java.util.List;
+
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {OrderItemMapper.class})
 public interface OrderMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "totalAmount", ignore = true)
+    @Mapping(target = "itemCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Order toEntity(OrderCreateRequest request);
 
     @Mapping(target = "id", source = "order.id")
     @Mapping(target = "userResponse", source = "user")
     @Mapping(target = "userId", source = "order.userId")
+    @Mapping(target = "revision", expression = "java(com.arsiwooqq.orderservice.dto.OrderRevision.of(order))")
+    @Mapping(target = "fields", expression = "java(com.arsiwooqq.orderservice.dto.OrderFields.ALL)")
     OrderResponse toResponse(Order order, UserResponse user);
 
+    List<OrderItemResponse> toOrderItemResponses(List<OrderItem> orderItems);
+
+    /**
+     * Maps an order to a response containing only the requested fields. Unrequested fields are left null
+     * and are not serialized.
+     *
+     * @param order  The order.
+     * @param user   The user data, ignored if user data is not requested.
+     * @param fields The requested fields.
+     * @return The order response.
+     */
+    default OrderResponse toResponse(Order order, UserResponse user, OrderFields fields) {
+        if (fields.isAll()) {
+            return toResponse(order, user);
+        }
+        return new OrderResponse(
+                fields.includes(OrderFields.ID) ? order.getId() : null,
+                fields.includes(OrderFields.USER_ID) ? order.getUserId() : null,
+                fields.includes(OrderFields.STATUS) ? order.getStatus() : null,
+                fields.includes(OrderFields.CREATION_DATE) ? order.getCreationDate() : null,
+                fields.includes(OrderFields.TOTAL_AMOUNT) ? order.getTotalAmount() : null,
+                fields.includes(OrderFields.ITEM_COUNT) ? order.getItemCount() : null,
+                fields.includes(OrderFields.ORDER_ITEMS) ? toOrderItemResponses(order.getOrderItems()) : null,
+                fields.includesUserData() ? user : null,
+                OrderRevision.of(order),
+                fields
+        );
+    }
+
     default OrderCreatedEvent toOrderCreatedEvent(Order order, Long paymentAmount) {
         return new OrderCreatedEvent(
                 order.getId(),
@@ -0,0 +1,18 @@
+package com.arsiwooqq.orderservice.mapper;
+
+import com.arsiwooqq.orderservice.dto.UserResponse;
+import com.arsiwooqq.orderservice.entity.UserProjection;
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserProjectionMapper {
+    UserResponse toResponse(UserProjection userProjection);
+
+    @Mapping(target = "updatedAt", source = "occurredAt")
+    @Mapping(target = "deleted", constant = "false")
+    void update(UserChangedEvent event, @MappingTarget UserProjection userProjection);
+}
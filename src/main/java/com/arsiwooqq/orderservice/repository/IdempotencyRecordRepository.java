@@ -0,0 +1,36 @@
+package com.arsiwooqq.orderservice.repository;
+
+import com.arsiwooqq.orderservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /**
+     * Inserts the record unless a record with the same key exists. An existing record is only replaced
+     * if it has expired. A concurrent insert of the same key blocks until the other transaction completes.
+     *
+     * @param record The record to insert.
+     * @return 1 if the record was stored, 0 if an unexpired record with the same key exists.
+     */
+    @Modifying
+    @Query(value = """
+            insert into idempotency_keys (principal, idempotency_key, request_hash, response, created_at, expires_at)
+            values (:#{#record.id.principal}, :#{#record.id.idempotencyKey}, :#{#record.requestHash},
+                    cast(:#{#record.response} as jsonb), :#{#record.createdAt}, :#{#record.expiresAt})
+            on conflict (principal, idempotency_key) do update
+            set request_hash = excluded.request_hash,
+                response = excluded.response,
+                created_at = excluded.created_at,
+                expires_at = excluded.expires_at
+            where idempotency_keys.expires_at <= excluded.created_at
+            """, nativeQuery = true)
+    int insertIfAbsentOrExpired(@Param("record") IdempotencyRecord record);
+}
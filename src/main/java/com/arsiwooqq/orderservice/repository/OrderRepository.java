@@ -2,11 +2,24 @@ package com.arsiwooqq.orderservice.repository;
 
 import com.arsiwooqq.orderservice.entity.Order;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.repository.projection.OrderKey;
+import com.arsiwooqq.orderservice.repository.projection.OrderOwnership;
+import com.arsiwooqq.orderservice.repository.projection.OrderVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     @EntityGraph(
@@ -23,5 +36,73 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
                     "orderItems.item"
             }
     )
-    List<Order> findByStatusIn(List<OrderStatus> statuses);
+    Optional<Order> findWithOrderItemsById(UUID id);
+
+    /**
+     * Returns the keys of the first orders with the given statuses in {@code (status, creation_date, id)} order.
+     *
+     * @param statuses The order statuses.
+     * @param limit    The maximum number of keys.
+     * @return The order keys.
+     */
+    @Query("""
+            select new com.arsiwooqq.orderservice.repository.projection.OrderKey(o.id, o.status, o.creationDate)
+            from Order o
+            where o.status in :statuses
+            order by o.status, o.creationDate, o.id
+            """)
+    List<OrderKey> findFirstKeysByStatusIn(@Param("statuses") Collection<OrderStatus> statuses, Limit limit);
+
+    /**
+     * Returns the keys of the orders with the given statuses that follow the given key
+     * in {@code (status, creation_date, id)} order.
+     *
+     * @param statuses     The order statuses.
+     * @param status       The status of the last order of the previous page.
+     * @param creationDate The creation date of the last order of the previous page.
+     * @param id           The ID of the last order of the previous page.
+     * @param limit        The maximum number of keys.
+     * @return The order keys.
+     */
+    @Query("""
+            select new com.arsiwooqq.orderservice.repository.projection.OrderKey(o.id, o.status, o.creationDate)
+            from Order o
+            where o.status in :statuses
+              and (o.status, o.creationDate, o.id) > (:status, :creationDate, :id)
+            order by o.status, o.creationDate, o.id
+            """)
+    List<OrderKey> findKeysByStatusInAfter(@Param("statuses") Collection<OrderStatus> statuses,
+                                           @Param("status") OrderStatus status,
+                                           @Param("creationDate") LocalDate creationDate,
+                                           @Param("id") UUID id,
+                                           Limit limit);
+
+    @Query("select o.id from Order o")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<UUID> streamAllIds();
+
+    @Query("""
+            select new com.arsiwooqq.orderservice.repository.projection.OrderOwnership(o.id, o.userId)
+            from Order o
+            where o.id in :ids
+            """)
+    List<OrderOwnership> findOwnershipByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns the owner and version of an order along with the latest update of its items, without loading
+     * the order.
+     *
+     * @param id The order ID.
+     * @return The order version, or empty if the order does not exist.
+     */
+    @Query("""
+            select new com.arsiwooqq.orderservice.repository.projection.OrderVersion(
+                o.userId, o.version, max(i.updatedAt))
+            from Order o
+            left join o.orderItems oi
+            left join oi.item i
+            where o.id = :id
+            group by o.id, o.userId, o.version
+            """)
+    Optional<OrderVersion> findVersionById(@Param("id") UUID id);
 }
@@ -0,0 +1,24 @@
+package com.arsiwooqq.orderservice.repository;
+
+import com.arsiwooqq.orderservice.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+    /**
+     * Locks the oldest events for relaying. Events locked by other relays are skipped,
+     * so several instances can drain the outbox concurrently.
+     *
+     * @param limit The maximum number of events.
+     * @return The locked events, oldest first.
+     */
+    @Query(value = "select * from outbox order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockBatch(@Param("limit") int limit);
+
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,14 @@
+package com.arsiwooqq.orderservice.repository;
+
+import com.arsiwooqq.orderservice.entity.UserProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserProjectionRepository extends JpaRepository<UserProjection, String> {
+    Optional<UserProjection> findByUserIdAndDeletedFalse(String userId);
+
+    List<UserProjection> findByUserIdInAndDeletedFalse(Collection<String> userIds);
+}
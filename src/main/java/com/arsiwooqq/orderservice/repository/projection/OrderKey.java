@@ -0,0 +1,12 @@
+package com.arsiwooqq.orderservice.repository.projection;
+
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Position of an order in the {@code (status, creation_date, id)} ordering used for keyset pagination.
+ */
+public record OrderKey(UUID id, OrderStatus status, LocalDate creationDate) {
+}
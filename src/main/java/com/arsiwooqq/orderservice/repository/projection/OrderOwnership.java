@@ -0,0 +1,6 @@
+package com.arsiwooqq.orderservice.repository.projection;
+
+import java.util.UUID;
+
+public record OrderOwnership(UUID id, String userId) {
+}
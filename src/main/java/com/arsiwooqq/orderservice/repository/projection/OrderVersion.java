@@ -0,0 +1,10 @@
+package com.arsiwooqq.orderservice.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Owner, version and latest item update of an order, enough to authorize and revalidate a conditional read
+ * without loading it.
+ */
+public record OrderVersion(String userId, Long version, Instant itemsUpdatedAt) {
+}
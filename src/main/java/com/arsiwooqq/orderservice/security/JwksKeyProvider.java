@@ -0,0 +1,82 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides RSA public keys from a JSON Web Key Set. The key set is loaded from a file or URL and
+ * refreshed periodically, so rotated keys are picked up without a restart. If a refresh fails,
+ * the previously loaded keys keep being used.
+ */
+@Slf4j
+public class JwksKeyProvider implements RSAKeyProvider {
+    private final Resource jwks;
+    private final ObjectMapper objectMapper;
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+
+    public JwksKeyProvider(Resource jwks, ObjectMapper objectMapper) {
+        this.jwks = jwks;
+        this.objectMapper = objectMapper;
+        refresh();
+    }
+
+    @Override
+    public RSAPublicKey getPublicKeyById(String keyId) {
+        var currentKeys = keys;
+        if (keyId == null && currentKeys.size() == 1) {
+            return currentKeys.values().iterator().next();
+        }
+        return keyId != null ? currentKeys.get(keyId) : null;
+    }
+
+    @Override
+    public RSAPrivateKey getPrivateKey() {
+        return null;
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.jwks-refresh-interval:5m}",
+            initialDelayString = "${security.jwt.jwks-refresh-interval:5m}")
+    public void refresh() {
+        try (var inputStream = jwks.getInputStream()) {
+            var loaded = parse(objectMapper.readTree(inputStream));
+            keys = loaded;
+            log.debug("Loaded {} keys from JWKS", loaded.size());
+        } catch (Exception e) {
+            log.error("Error while loading JWKS from {}", jwks, e);
+        }
+    }
+
+    private Map<String, RSAPublicKey> parse(JsonNode root) throws Exception {
+        Map<String, RSAPublicKey> result = new HashMap<>();
+        var keyFactory = KeyFactory.getInstance("RSA");
+        var decoder = Base64.getUrlDecoder();
+        for (var key : root.path("keys")) {
+            if (!"RSA".equals(key.path("kty").asText())) {
+                continue;
+            }
+            var modulus = new BigInteger(1, decoder.decode(key.path("n").asText()));
+            var exponent = new BigInteger(1, decoder.decode(key.path("e").asText()));
+            var publicKey = (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent));
+            result.put(key.path("kid").asText(), publicKey);
+        }
+        return Map.copyOf(result);
+    }
+}
@@ -0,0 +1,54 @@
+package com.arsiwooqq.orderservice.security;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Gives access to the caller's JWT outside the servlet request thread. The token is read from
+ * the authenticated {@link JwtPrincipal} when there is one, and from a thread-bound value on worker threads
+ * running tasks wrapped with {@link #propagate(Runnable)}.
+ */
+public final class JwtContextHolder {
+    private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
+
+    private JwtContextHolder() {
+    }
+
+    public static String getToken() {
+        var token = TOKEN.get();
+        if (token != null) {
+            return token;
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.token();
+        }
+        return null;
+    }
+
+    /**
+     * Captures the caller's JWT and binds it to the thread that runs the task.
+     *
+     * @param task The task to wrap.
+     * @return The task running with the caller's JWT.
+     */
+    public static Runnable propagate(Runnable task) {
+        var token = getToken();
+        return () -> {
+            var previous = TOKEN.get();
+            set(token);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    private static void set(String token) {
+        if (token == null) {
+            TOKEN.remove();
+        } else {
+            TOKEN.set(token);
+        }
+    }
+}
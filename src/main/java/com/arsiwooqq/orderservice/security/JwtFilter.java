@@ -1,8 +1,8 @@
 package com.arsiwooqq.orderservice.security;
 
 import com.auth0.jwt.JWT;
-import com.arsiwooqq.orderservice.client.AuthServiceClient;
-import com.arsiwooqq.orderservice.dto.ValidateTokenRequest;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,19 +11,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
-    private final AuthServiceClient authServiceClient;
+    private final TokenValidator tokenValidator;
 
     @Override
     public void doFilterInternal(@NonNull HttpServletRequest request,
@@ -33,10 +31,10 @@ public class JwtFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
         log.debug("Token fetched from request");
         if (token != null) {
-            if (validateToken(token)) {
+            var jwt = decodeToken(token);
+            if (jwt != null && tokenValidator.validate(jwt)) {
                 log.debug("Token is valid. Setting authentication");
-                setAuthentication(token);
-                request.setAttribute("jwt", token);
+                setAuthentication(JwtPrincipal.from(jwt));
             } else {
                 log.debug("Token is invalid");
             }
@@ -54,36 +52,23 @@ public class JwtFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private boolean validateToken(String token) {
+    private DecodedJWT decodeToken(String token) {
         try {
-            var response = authServiceClient.validate(new ValidateTokenRequest(token));
-            log.debug("Received response from Auth Service: {}", response);
-            return response != null && response.getData() != null && response.getData().equals(true);
-        } catch (Exception e) {
-            log.error("Error while validating token", e);
+            return JWT.decode(token);
+        } catch (JWTDecodeException e) {
+            log.debug("Token is malformed: {}", e.getMessage());
+            return null;
         }
-        return false;
     }
 
-    private String getRole(String token) {
-        return JWT.decode(token).getClaim("role").asString();
-    }
-
-    private String getId(String token) {
-        return JWT.decode(token).getSubject();
-    }
-
-    private void setAuthentication(String token) {
-        var id = getId(token);
-        var role = getRole(token);
-
+    private void setAuthentication(JwtPrincipal principal) {
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken(
-                        id,
+                        principal,
                         null,
-                        List.of(new SimpleGrantedAuthority(role))
+                        principal.authorities()
                 )
         );
-        log.debug("Authenticated user with id {}. Role: {}", id, role);
+        log.debug("Authenticated user with id {}. Role: {}", principal.subject(), principal.role());
     }
 }
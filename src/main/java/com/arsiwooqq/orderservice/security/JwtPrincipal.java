@@ -0,0 +1,53 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticated caller, built once per request from the parsed JWT and reused downstream,
+ * e.g. for authorization checks and for propagating the token to other services.
+ *
+ * @param subject   The user ID.
+ * @param role      The user role.
+ * @param expiresAt The token expiration time, or null if the token does not expire.
+ * @param token     The raw token.
+ */
+public record JwtPrincipal(String subject, String role, Instant expiresAt, String token)
+        implements AuthenticatedPrincipal {
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    public static JwtPrincipal from(DecodedJWT jwt) {
+        return new JwtPrincipal(jwt.getSubject(), jwt.getClaim("role").asString(), jwt.getExpiresAtAsInstant(),
+                jwt.getToken());
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    /**
+     * Returns the authorities of the principal's role. Authority lists are shared between all principals
+     * with the same role instead of being created per request.
+     *
+     * @return The authorities.
+     */
+    public List<GrantedAuthority> authorities() {
+        if (role == null) {
+            return List.of();
+        }
+        return AUTHORITIES.computeIfAbsent(role, r -> List.of(new SimpleGrantedAuthority(r)));
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal[subject=" + subject + ", role=" + role + ", expiresAt=" + expiresAt + "]";
+    }
+}
@@ -0,0 +1,33 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates tokens locally by verifying their signature, issuer and expiration time. If a revocation
+ * validator is configured, locally valid tokens are additionally checked by it, otherwise no remote call is made.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LocalTokenValidator implements TokenValidator {
+    private final JWTVerifier verifier;
+    private final TokenValidator revocationValidator;
+
+    @Override
+    public boolean validate(DecodedJWT jwt) {
+        try {
+            verifier.verify(jwt);
+        } catch (JWTVerificationException e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return false;
+        }
+        if (revocationValidator != null) {
+            log.debug("Token verified locally, checking revocation");
+            return revocationValidator.validate(jwt);
+        }
+        return true;
+    }
+}
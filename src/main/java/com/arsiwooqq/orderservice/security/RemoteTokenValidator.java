@@ -0,0 +1,44 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.arsiwooqq.orderservice.cache.TokenValidationCache;
+import com.arsiwooqq.orderservice.client.AuthServiceClient;
+import com.arsiwooqq.orderservice.dto.ValidateTokenRequest;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates tokens by calling the auth service. Results are cached, so the same token is validated remotely
+ * only once until it expires.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RemoteTokenValidator implements TokenValidator {
+    private final AuthServiceClient authServiceClient;
+    private final TokenValidationCache tokenValidationCache;
+
+    @Override
+    public boolean validate(DecodedJWT jwt) {
+        var token = jwt.getToken();
+        var cached = tokenValidationCache.get(token);
+        if (cached != null) {
+            log.debug("Token validation result found in cache");
+            return cached;
+        }
+        try {
+            var response = authServiceClient.validate(new ValidateTokenRequest(token));
+            log.debug("Received response from Auth Service: {}", response);
+            if (response == null || response.getData() == null) {
+                return false;
+            }
+            if (response.getData()) {
+                tokenValidationCache.putValid(token, jwt.getExpiresAtAsInstant());
+                return true;
+            }
+            tokenValidationCache.putInvalid(token);
+        } catch (Exception e) {
+            log.error("Error while validating token", e);
+        }
+        return false;
+    }
+}
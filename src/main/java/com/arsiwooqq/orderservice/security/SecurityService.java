@@ -1,13 +1,19 @@
 package com.arsiwooqq.orderservice.security;
 
+import com.arsiwooqq.orderservice.cache.OrderOwnershipIndex;
+import com.arsiwooqq.orderservice.dto.OrderBatchCreateRequest;
 import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
+import com.arsiwooqq.orderservice.entity.Order;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 import com.arsiwooqq.orderservice.exception.AccessDeniedException;
 import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,7 +21,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityService {
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
     private final OrderRepository orderRepository;
+    private final OrderOwnershipIndex orderOwnershipIndex;
+    private final OrderIdFilter orderIdFilter;
 
     public boolean canCreateOrder(String userId, OrderCreateRequest request) {
         if (userId == null || request == null || !userId.equals(request.userId())) {
@@ -25,35 +35,104 @@ public class SecurityService {
         return true;
     }
 
-    public boolean canAccessOrder(String userId, UUID orderId) {
-        if (userId == null || orderId == null) {
-            throw new AccessDeniedException("You do not have rights to access this order");
+    public boolean canCreateOrders(String userId, OrderBatchCreateRequest request) {
+        if (userId == null || request == null || request.orders() == null || request.orders().stream()
+                .anyMatch(order -> order == null || !userId.equals(order.userId()))) {
+            throw new AccessDeniedException("You do not have rights to create these orders");
         }
 
-        return orderRepository.findById(orderId)
-                .filter(order -> order.getUserId().equals(userId))
-                .map(order -> true)
-                .orElseThrow(() -> new AccessDeniedException("You do not have rights to access this order"));
+        return true;
     }
 
-    public boolean canManageOrder(String userId, UUID orderId) {
-        if (userId == null || orderId == null) {
-            throw new AccessDeniedException("You do not have rights to manage this order");
+    /**
+     * Checks that the current principal may read an order the caller has already loaded, so authorization
+     * does not need its own query. A missing order is reported as access denied to non-admins,
+     * so they cannot probe which order IDs exist.
+     *
+     * @param order The loaded order, or {@code null} if it does not exist.
+     * @throws AccessDeniedException If the principal is not an admin and does not own the order.
+     */
+    public void checkCanAccessOrder(Order order) {
+        checkCanAccessOrderOwnedBy(order == null ? null : order.getUserId());
+    }
+
+    /**
+     * Checks that the current principal may read an order owned by the given user, for callers that have
+     * the owner but not the order entity, e.g. from a cached order view.
+     *
+     * @param ownerId The ID of the user owning the order, or {@code null} if the order does not exist.
+     * @throws AccessDeniedException If the principal is not an admin and does not own the order.
+     */
+    public void checkCanAccessOrderOwnedBy(String ownerId) {
+        if (isAdmin()) {
+            return;
+        }
+        if (ownerId == null || !ownerId.equals(currentUserId())) {
+            throw new AccessDeniedException("You do not have rights to access this order");
         }
+    }
 
-        return orderRepository.findById(orderId)
-                .filter(order -> order.getUserId().equals(userId))
-                .filter(order -> order.getStatus().equals(OrderStatus.CREATED))
-                .map(order -> true)
-                .orElseThrow(() -> new AccessDeniedException("You do not have rights to manage this order"));
+    /**
+     * Checks that the current principal may modify or delete an order the caller has already loaded.
+     * Non-admins may only manage their own orders in status {@link OrderStatus#CREATED}.
+     *
+     * @param order The loaded order, or {@code null} if it does not exist.
+     * @throws AccessDeniedException If the principal is not allowed to manage the order.
+     */
+    public void checkCanManageOrder(Order order) {
+        if (isAdmin()) {
+            return;
+        }
+        if (order == null || !order.getUserId().equals(currentUserId())
+                || !order.getStatus().equals(OrderStatus.CREATED)) {
+            throw new AccessDeniedException("You do not have rights to manage this order");
+        }
     }
 
+    /**
+     * Checks that all existing orders among the given IDs belong to the principal. Owners are looked up in
+     * the ownership index first, only orders missing there and not rejected by the order ID filter are loaded
+     * from the database and then indexed.
+     *
+     * @param userId   The principal's user ID.
+     * @param orderIds The order IDs.
+     * @return True if no order belongs to another user, false otherwise.
+     * @throws AccessDeniedException If the user ID or order IDs are missing.
+     */
     public boolean canAccessOrders(String userId, List<UUID> orderIds) {
         if (userId == null || orderIds == null) {
             throw new AccessDeniedException("You do not have rights to access these orders");
         }
 
-        return orderRepository.findByIdIn(orderIds).stream()
-                .allMatch(order -> order.getUserId().equals(userId));
+        List<UUID> notIndexed = new ArrayList<>();
+        for (var orderId : orderIds) {
+            var owner = orderOwnershipIndex.getOwner(orderId);
+            if (owner == null) {
+                if (orderIdFilter.mightExist(orderId)) {
+                    notIndexed.add(orderId);
+                }
+            } else if (!owner.equals(userId)) {
+                return false;
+            }
+        }
+        if (notIndexed.isEmpty()) {
+            return true;
+        }
+
+        log.debug("Loading ownership of {} orders missing in the index", notIndexed.size());
+        var ownerships = orderRepository.findOwnershipByIdIn(notIndexed);
+        ownerships.forEach(ownership -> orderOwnershipIndex.put(ownership.id(), ownership.userId()));
+        return ownerships.stream().allMatch(ownership -> ownership.userId().equals(userId));
+    }
+
+    private boolean isAdmin() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    private String currentUserId() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
     }
 }
@@ -0,0 +1,7 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+public interface TokenValidator {
+    boolean validate(DecodedJWT jwt);
+}
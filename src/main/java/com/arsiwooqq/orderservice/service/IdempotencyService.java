@@ -0,0 +1,18 @@
+package com.arsiwooqq.orderservice.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * Runs the action at most once per idempotency key of the current principal. Retries with the same key
+     * are answered with the response of the first request, and concurrent requests with the same key wait for
+     * the one that runs the action.
+     *
+     * @param idempotencyKey The idempotency key chosen by the client.
+     * @param request        The request, used to detect a key reused for a different request.
+     * @param responseType   The response type.
+     * @param action         The action to run if the key was not used yet.
+     * @return The response of the action, or the stored response of an earlier request with the same key.
+     */
+    <T> T execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action);
+}
@@ -0,0 +1,17 @@
+package com.arsiwooqq.orderservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface OrderExportService {
+    /**
+     * Writes all orders created within the given date range as newline-delimited JSON, one order per line.
+     *
+     * @param from The first creation date, inclusive.
+     * @param to   The last creation date, inclusive.
+     * @param out  The stream to write to. It is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    void exportByCreationDate(LocalDate from, LocalDate to, OutputStream out) throws IOException;
+}
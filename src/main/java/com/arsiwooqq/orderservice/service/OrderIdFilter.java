@@ -0,0 +1,19 @@
+package com.arsiwooqq.orderservice.service;
+
+import java.util.UUID;
+
+/**
+ * Pre-check of order IDs that lets lookups of nonexistent orders skip the database.
+ */
+public interface OrderIdFilter {
+    /**
+     * Returns whether the order may exist.
+     *
+     * @param orderId The order ID.
+     * @return False if the order definitely does not exist, true otherwise.
+     */
+    boolean mightExist(UUID orderId);
+
+    default void add(UUID orderId) {
+    }
+}
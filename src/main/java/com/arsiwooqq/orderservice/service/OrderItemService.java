@@ -1,8 +1,24 @@
 package com.arsiwooqq.orderservice.service;
 
 import com.arsiwooqq.orderservice.dto.OrderItemRequest;
+import com.arsiwooqq.orderservice.entity.Item;
 import com.arsiwooqq.orderservice.entity.OrderItem;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 public interface OrderItemService {
     OrderItem create(OrderItemRequest request);
+
+    default List<OrderItem> createAll(List<OrderItemRequest> requests) {
+        return createAll(requests, getItemsByIds(requests.stream()
+                .map(OrderItemRequest::itemId)
+                .toList()));
+    }
+
+    List<OrderItem> createAll(List<OrderItemRequest> requests, Map<UUID, Item> items);
+
+    Map<UUID, Item> getItemsByIds(Collection<UUID> itemIds);
 }
@@ -1,25 +1,57 @@
 package com.arsiwooqq.orderservice.service;
 
 import com.arsiwooqq.orderservice.dto.ChangeOrderStatusRequest;
+import com.arsiwooqq.orderservice.dto.OrderBatchResult;
 import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
+import com.arsiwooqq.orderservice.dto.OrderFields;
+import com.arsiwooqq.orderservice.dto.OrderPage;
 import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.dto.OrderRevision;
 import com.arsiwooqq.orderservice.dto.OrderUpdateRequest;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface OrderService {
-    OrderResponse create(OrderCreateRequest request);
+    default OrderResponse create(OrderCreateRequest request) {
+        return create(request, OrderFields.ALL);
+    }
 
-    OrderResponse getById(UUID id);
+    OrderResponse create(OrderCreateRequest request, OrderFields fields);
 
-    List<OrderResponse> getAllByIds(List<UUID> ids);
+    List<OrderBatchResult> createAll(List<OrderCreateRequest> requests, OrderFields fields);
 
-    List<OrderResponse> getAllByStatuses(List<String> statuses);
+    default OrderResponse getById(UUID id) {
+        return getById(id, OrderFields.ALL);
+    }
 
-    OrderResponse update(UUID id, OrderUpdateRequest request);
+    OrderResponse getById(UUID id, OrderFields fields);
 
-    OrderResponse changeStatus(UUID id, ChangeOrderStatusRequest request);
+    OrderRevision getRevision(UUID id);
+
+    default List<OrderResponse> getAllByIds(List<UUID> ids) {
+        return getAllByIds(ids, OrderFields.ALL);
+    }
+
+    List<OrderResponse> getAllByIds(List<UUID> ids, OrderFields fields);
+
+    default OrderPage getPageByStatuses(List<String> statuses, String pageToken, int size) {
+        return getPageByStatuses(statuses, pageToken, size, OrderFields.ALL);
+    }
+
+    OrderPage getPageByStatuses(List<String> statuses, String pageToken, int size, OrderFields fields);
+
+    default OrderResponse update(UUID id, OrderUpdateRequest request) {
+        return update(id, request, OrderFields.ALL);
+    }
+
+    OrderResponse update(UUID id, OrderUpdateRequest request, OrderFields fields);
+
+    default OrderResponse changeStatus(UUID id, ChangeOrderStatusRequest request) {
+        return changeStatus(id, request, OrderFields.ALL);
+    }
+
+    OrderResponse changeStatus(UUID id, ChangeOrderStatusRequest request, OrderFields fields);
 
     void delete(UUID id);
 }
@@ -2,7 +2,12 @@ package com.arsiwooqq.orderservice.service;
 
 import com.arsiwooqq.orderservice.dto.UserResponse;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface UserDataService {
 
     UserResponse fetchUserData(String userId);
+
+    Map<String, UserResponse> fetchUserDataByIds(Collection<String> userIds);
 }
@@ -0,0 +1,7 @@
+package com.arsiwooqq.orderservice.service;
+
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+
+public interface UserProjectionService {
+    void apply(UserChangedEvent event);
+}
@@ -0,0 +1,88 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.cache.OrderIdBloomFilter;
+import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Order ID filter backed by a Bloom filter of all existing order IDs. The filter is built from the orders
+ * table when the application starts and rebuilt periodically, so deleted orders eventually drop out of it.
+ * Until the first build completes every order is reported as possibly existing.
+ * Orders created while the filter is rebuilt are added to both the current and the new filter.
+ */
+@Slf4j
+public class BloomOrderIdFilter implements OrderIdFilter {
+    private final OrderRepository orderRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile OrderIdBloomFilter current;
+    private volatile OrderIdBloomFilter building;
+
+    public BloomOrderIdFilter(OrderRepository orderRepository, long expectedInsertions, double falsePositiveRate) {
+        this.orderRepository = orderRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Override
+    public boolean mightExist(UUID orderId) {
+        var filter = current;
+        return filter == null || filter.mightContain(orderId);
+    }
+
+    /**
+     * Adds the order to the filter being built before the current one. {@link #rebuild()} publishes the new
+     * filter before clearing {@code building}, so an order added while the filters are swapped always ends up
+     * in the published one. Reading them the other way round could put the order only into the discarded filter.
+     */
+    @Override
+    public void add(UUID orderId) {
+        var next = building;
+        if (next != null) {
+            next.put(orderId);
+        }
+        var filter = current;
+        if (filter != null) {
+            filter.put(orderId);
+        }
+    }
+
+    /**
+     * Builds a new filter by streaming all order IDs and swaps it in. The filter is sized for twice
+     * the current number of orders, but not less than the configured expected number of orders.
+     */
+    @Scheduled(fixedDelayString = "${orders.id-filter.rebuild-interval:1h}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        var count = orderRepository.count();
+        var next = new OrderIdBloomFilter(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+        building = next;
+        try (var ids = orderRepository.streamAllIds()) {
+            ids.forEach(next::put);
+            current = next;
+            log.info("Order ID filter rebuilt for {} orders, {} bytes", count, next.memoryBytes());
+        } finally {
+            building = null;
+        }
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("order.id.filter.false.positive.rate", this,
+                        filter -> filter.current == null ? 1 : filter.current.falsePositiveRate())
+                .description("The expected false-positive rate of the order ID filter")
+                .register(meterRegistry);
+        Gauge.builder("order.id.filter.memory", this,
+                        filter -> filter.current == null ? 0 : filter.current.memoryBytes())
+                .baseUnit("bytes")
+                .description("The memory taken by the order ID filter")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,203 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.cache.SingleFlight;
+import com.arsiwooqq.orderservice.entity.IdempotencyRecord;
+import com.arsiwooqq.orderservice.exception.IdempotencyKeyInProgressException;
+import com.arsiwooqq.orderservice.exception.IdempotencyKeyReusedException;
+import com.arsiwooqq.orderservice.repository.IdempotencyRecordRepository;
+import com.arsiwooqq.orderservice.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency service keeping responses in a bounded in-memory cache in front of the idempotency keys table.
+ * The action and the insert of its response run in one transaction, so a response is stored if and only if
+ * the action committed. Concurrent requests with the same key on this instance share one execution.
+ * On different instances the response is stored with a plain insert that never overwrites an unexpired
+ * record, so only the first request commits and the others are rolled back and return its response.
+ */
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    private final Cache<IdempotencyRecord.Key, StoredResponse> responses;
+    private final SingleFlight<IdempotencyRecord.Key, StoredResponse> inFlight = new SingleFlight<>();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  ObjectMapper objectMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  long maximumSize,
+                                  Duration ttl,
+                                  Duration waitTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new StoredResponseExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public <T> T execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        var key = new IdempotencyRecord.Key(currentPrincipal(), idempotencyKey);
+        var requestHash = hash(request);
+
+        var stored = responses.getIfPresent(key);
+        if (stored == null) {
+            try {
+                stored = inFlight.execute(key, () -> load(key, requestHash, responseType, action), waitTimeout);
+            } catch (TimeoutException e) {
+                log.debug("Timed out waiting for request with idempotency key: {}", idempotencyKey);
+                throw new IdempotencyKeyInProgressException(idempotencyKey);
+            }
+        } else {
+            log.trace("Idempotency key: {} found in cache", idempotencyKey);
+        }
+
+        if (!stored.requestHash().equals(requestHash)) {
+            log.debug("Idempotency key: {} reused for a different request", idempotencyKey);
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        return responseType.cast(stored.response());
+    }
+
+    /**
+     * Deletes expired idempotency keys.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.cleanup-interval:1h}")
+    @Transactional
+    public void deleteExpired() {
+        var deleted = idempotencyRecordRepository.deleteExpired(Instant.now());
+        log.debug("Deleted {} expired idempotency keys", deleted);
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    /**
+     * Returns the stored response for the key, or runs the action and stores its response.
+     * If another instance stored a response for the key first, the action is rolled back and that response
+     * is returned instead.
+     */
+    private <T> StoredResponse load(IdempotencyRecord.Key key, String requestHash, Class<T> responseType,
+                                    Supplier<T> action) {
+        var stored = findStored(key, responseType);
+        if (stored != null) {
+            log.debug("Idempotency key: {} found in database", key.getIdempotencyKey());
+            responses.put(key, stored);
+            return stored;
+        }
+
+        try {
+            stored = transactionTemplate.execute(status -> {
+                var response = action.get();
+                var now = Instant.now();
+                var expiresAt = now.plus(ttl);
+                var inserted = idempotencyRecordRepository.insertIfAbsentOrExpired(
+                        new IdempotencyRecord(key, requestHash, serialize(response), now, expiresAt));
+                if (inserted == 0) {
+                    throw new DuplicateKeyException("Idempotency key already stored: " + key.getIdempotencyKey());
+                }
+                return new StoredResponse(requestHash, response, expiresAt);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Idempotency key: {} stored concurrently", key.getIdempotencyKey());
+            stored = findStored(key, responseType);
+            if (stored == null) {
+                throw e;
+            }
+        }
+        responses.put(key, stored);
+        return stored;
+    }
+
+    private <T> StoredResponse findStored(IdempotencyRecord.Key key, Class<T> responseType) {
+        var now = Instant.now();
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(record -> new StoredResponse(record.getRequestHash(),
+                        deserialize(record.getResponse(), responseType), record.getExpiresAt()))
+                .orElse(null);
+    }
+
+    private String currentPrincipal() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    private String hash(Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private <T> T deserialize(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize response", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, Object response, Instant expiresAt) {
+    }
+
+    private static class StoredResponseExpiry implements Expiry<IdempotencyRecord.Key, StoredResponse> {
+        @Override
+        public long expireAfterCreate(IdempotencyRecord.Key key, StoredResponse value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(IdempotencyRecord.Key key, StoredResponse value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(IdempotencyRecord.Key key, StoredResponse value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
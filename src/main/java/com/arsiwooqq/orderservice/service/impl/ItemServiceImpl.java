@@ -1,8 +1,11 @@
 package com.arsiwooqq.orderservice.service.impl;
 
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
 import com.arsiwooqq.orderservice.dto.ItemCreateRequest;
 import com.arsiwooqq.orderservice.dto.ItemResponse;
 import com.arsiwooqq.orderservice.dto.ItemUpdateRequest;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
+import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
 import com.arsiwooqq.orderservice.exception.ItemNotFoundException;
 import com.arsiwooqq.orderservice.mapper.ItemMapper;
 import com.arsiwooqq.orderservice.repository.ItemRepository;
@@ -22,6 +25,8 @@ import java.util.UUID;
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderEventPublisher orderEventPublisher;
 
     @Override
     public ItemResponse create(ItemCreateRequest request) {
@@ -68,6 +73,7 @@ public class ItemServiceImpl implements ItemService {
                 });
         itemMapper.update(request, item);
         var savedItem = itemRepository.save(item);
+        evictAllOrders();
         log.debug("Item updated successfully with ID: {}", savedItem.getId());
         return itemMapper.toResponse(savedItem);
     }
@@ -83,6 +89,16 @@ public class ItemServiceImpl implements ItemService {
                     return new ItemNotFoundException(id);
                 });
         itemRepository.delete(item);
+        evictAllOrders();
         log.debug("Item deleted successfully with ID: {}", id);
     }
+
+    /**
+     * Evicts all orders from the order response cache of this instance and publishes the change so that
+     * other instances evict them as well, since the changed item may be contained in any order.
+     */
+    private void evictAllOrders() {
+        orderResponseCache.evictAll();
+        orderEventPublisher.publishOrderChanged(new OrderChangedEvent(null, null));
+    }
 }
\ No newline at end of file
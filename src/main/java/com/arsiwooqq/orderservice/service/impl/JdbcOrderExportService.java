@@ -0,0 +1,157 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.dto.OrderFields;
+import com.arsiwooqq.orderservice.dto.OrderItemResponse;
+import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.service.OrderExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order export reading orders with their items through a forward-only JDBC cursor. Rows are fetched from
+ * the database in chunks of the configured fetch size and each order is written as soon as its last row
+ * has been read, so memory use does not depend on the number of exported orders.
+ * User data is not included in exported orders.
+ */
+@Slf4j
+public class JdbcOrderExportService implements OrderExportService {
+    private static final String EXPORT_QUERY = """
+            select o.id, o.user_id, o.status, o.creation_date, o.total_amount, o.item_count,
+                   oi.quantity, oi.unit_price, i.id as item_id, i.name as item_name, i.price as item_price
+            from orders o
+            left join order_items oi on oi.order_id = o.id
+            left join items i on i.id = oi.item_id
+            where o.creation_date between ? and ?
+            order by o.creation_date, o.id
+            """;
+
+    private static final OrderFields EXPORTED_FIELDS = OrderFields.of(OrderFields.ID, OrderFields.USER_ID,
+            OrderFields.STATUS, OrderFields.CREATION_DATE, OrderFields.TOTAL_AMOUNT, OrderFields.ITEM_COUNT,
+            OrderFields.ORDER_ITEMS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final int fetchSize;
+
+    public JdbcOrderExportService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The query runs in a read-only transaction, which the PostgreSQL driver requires to use a cursor
+     * instead of reading the whole result into memory.
+     */
+    @Override
+    public void exportByCreationDate(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        log.debug("Exporting orders created from {} to {}", from, to);
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            var writer = new OrderLineWriter(generator);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setDate(1, Date.valueOf(from));
+                statement.setDate(2, Date.valueOf(to));
+                return statement;
+            }, writer::processRow));
+            writer.finish();
+            log.debug("Exported {} orders created from {} to {}", writer.count, from, to);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Groups consecutive rows of the same order and writes each complete order as one line.
+     */
+    private class OrderLineWriter {
+        private final JsonGenerator generator;
+        private UUID orderId;
+        private OrderResponse order;
+        private List<OrderItemResponse> orderItems;
+        private long count;
+
+        private OrderLineWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        private void processRow(ResultSet rs) throws SQLException {
+            var id = rs.getObject("id", UUID.class);
+            if (!id.equals(orderId)) {
+                writeCurrent();
+                orderId = id;
+                orderItems = new ArrayList<>();
+                order = new OrderResponse(
+                        id,
+                        rs.getString("user_id"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getObject("creation_date", LocalDate.class),
+                        rs.getLong("total_amount"),
+                        rs.getInt("item_count"),
+                        orderItems,
+                        null,
+                        null,
+                        EXPORTED_FIELDS
+                );
+            }
+            var itemId = rs.getObject("item_id", UUID.class);
+            if (itemId != null) {
+                orderItems.add(new OrderItemResponse(
+                        new Item(itemId, rs.getString("item_name"), rs.getLong("item_price")),
+                        rs.getInt("quantity"),
+                        rs.getLong("unit_price")
+                ));
+            }
+        }
+
+        private void finish() throws IOException {
+            writeCurrent();
+            generator.flush();
+        }
+
+        private void writeCurrent() {
+            if (order == null) {
+                return;
+            }
+            try {
+                objectWriter.writeValue(generator, order);
+                generator.writeRaw('\n');
+                if (++count == 1) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            order = null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.arsiwooqq.orderservice.service.impl;
 
 import com.arsiwooqq.orderservice.dto.OrderItemRequest;
+import com.arsiwooqq.orderservice.entity.Item;
 import com.arsiwooqq.orderservice.entity.OrderItem;
 import com.arsiwooqq.orderservice.exception.ItemNotFoundException;
 import com.arsiwooqq.orderservice.mapper.OrderItemMapper;
@@ -10,6 +11,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -27,7 +36,54 @@ public class OrderItemServiceImpl implements OrderItemService {
                 });
         var orderItem = orderItemMapper.toEntity(request);
         orderItem.setItem(item);
+        orderItem.setUnitPrice(item.getPrice());
         log.debug("Successfully mapped order item for item ID: {}", request.itemId());
         return orderItem;
     }
+
+    /**
+     * Maps order item requests to order items using already resolved items.
+     *
+     * @param requests The order item requests.
+     * @param items    The resolved items by ID.
+     * @return The order items in the same order as the requests.
+     * @throws ItemNotFoundException With all missing item IDs if any of the items is not resolved.
+     */
+    @Override
+    public List<OrderItem> createAll(List<OrderItemRequest> requests, Map<UUID, Item> items) {
+        var missingIds = requests.stream()
+                .map(OrderItemRequest::itemId)
+                .filter(id -> !items.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missingIds.isEmpty()) {
+            log.debug("Items not found with IDs: {}", missingIds);
+            throw new ItemNotFoundException(missingIds);
+        }
+
+        log.debug("Mapping {} order items", requests.size());
+        return requests.stream()
+                .map(request -> {
+                    var item = items.get(request.itemId());
+                    var orderItem = orderItemMapper.toEntity(request);
+                    orderItem.setItem(item);
+                    orderItem.setUnitPrice(item.getPrice());
+                    return orderItem;
+                })
+                .toList();
+    }
+
+    /**
+     * Resolves items with a single query.
+     *
+     * @param itemIds The item IDs, possibly with duplicates.
+     * @return The existing items by ID.
+     */
+    @Override
+    public Map<UUID, Item> getItemsByIds(Collection<UUID> itemIds) {
+        var distinctIds = new HashSet<>(itemIds);
+        log.debug("Fetching {} distinct items", distinctIds.size());
+        return itemRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
 }
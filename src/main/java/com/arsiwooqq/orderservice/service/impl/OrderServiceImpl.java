@@ -1,27 +1,52 @@
 package com.arsiwooqq.orderservice.service.impl;
 
+import com.arsiwooqq.orderservice.cache.OrderOwnershipIndex;
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
 import com.arsiwooqq.orderservice.dto.ChangeOrderStatusRequest;
+import com.arsiwooqq.orderservice.dto.OrderBatchResult;
 import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
+import com.arsiwooqq.orderservice.dto.OrderFields;
+import com.arsiwooqq.orderservice.dto.OrderItemRequest;
+import com.arsiwooqq.orderservice.dto.OrderPage;
 import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.dto.OrderRevision;
 import com.arsiwooqq.orderservice.dto.OrderUpdateRequest;
 import com.arsiwooqq.orderservice.entity.Order;
+import com.arsiwooqq.orderservice.entity.OrderItem;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
 import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
+import com.arsiwooqq.orderservice.exception.AccessDeniedException;
+import com.arsiwooqq.orderservice.exception.ApiException;
+import com.arsiwooqq.orderservice.exception.InvalidPageTokenException;
 import com.arsiwooqq.orderservice.exception.OrderNotFoundException;
 import com.arsiwooqq.orderservice.mapper.OrderMapper;
 import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.repository.projection.OrderKey;
+import com.arsiwooqq.orderservice.security.SecurityService;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
 import com.arsiwooqq.orderservice.service.OrderItemService;
 import com.arsiwooqq.orderservice.service.OrderService;
 import com.arsiwooqq.orderservice.service.UserDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,92 +57,180 @@ public class OrderServiceImpl implements OrderService {
     private final OrderItemService orderItemService;
     private final UserDataService userDataService;
     private final OrderEventPublisher orderEventPublisher;
+    private final SecurityService securityService;
+    private final OrderOwnershipIndex orderOwnershipIndex;
+    private final OrderIdFilter orderIdFilter;
+    private final OrderResponseCache orderResponseCache;
 
     /**
      * Creates a new order. Sets the creation date to the current date and status to "CREATED".
      *
      * @param request The order creation request.
+     * @param fields  The fields to include in the response.
      * @return The created order response.
      */
     @Override
-    public OrderResponse create(OrderCreateRequest request) {
+    @Transactional
+    public OrderResponse create(OrderCreateRequest request, OrderFields fields) {
         log.debug("Creating new order for user: {}", request.userId());
-        var order = orderMapper.toEntity(request);
-        var orderItems = request.orderItems().stream()
-                .map(orderItemService::create)
-                .peek(orderItem -> orderItem.setOrder(order))
-                .toList();
-        order.setOrderItems(orderItems);
-        order.setStatus(OrderStatus.CREATED);
-        order.setCreationDate(LocalDate.now());
+        var order = toNewOrder(request, orderItemService.createAll(request.orderItems()));
 
         log.trace("Saving order to database");
         var savedOrder = orderRepository.save(order);
         log.debug("Order created successfully with ID: {}", savedOrder.getId());
+        registerCreated(savedOrder);
 
-        var event = orderMapper.toOrderCreatedEvent(order, getOrderAmount(order));
+        var event = orderMapper.toOrderCreatedEvent(order, order.getTotalAmount());
         orderEventPublisher.publishOrderCreated(event);
 
-        return orderMapper.toResponse(savedOrder, userDataService.fetchUserData(order.getUserId()));
+        return toResponse(savedOrder, fields);
     }
 
     /**
-     * Retrieves an order by its ID.
+     * Creates multiple orders at once. Items of all orders are resolved with a single query, orders referencing
+     * missing items are reported as failed while the rest are saved in batched statements, and the order created
+     * events are published together.
      *
-     * @param id The order ID.
+     * @param requests The order creation requests.
+     * @param fields   The fields to include in the responses.
+     * @return The result for each request, in the same order as the requests.
+     */
+    @Override
+    @Transactional
+    public List<OrderBatchResult> createAll(List<OrderCreateRequest> requests, OrderFields fields) {
+        log.debug("Creating {} orders in batch", requests.size());
+        var items = orderItemService.getItemsByIds(requests.stream()
+                .flatMap(request -> request.orderItems().stream())
+                .map(OrderItemRequest::itemId)
+                .toList());
+
+        var results = new OrderBatchResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            try {
+                orders.add(toNewOrder(request, orderItemService.createAll(request.orderItems(), items)));
+                indexes.add(i);
+            } catch (ApiException e) {
+                log.debug("Order at index {} rejected: {}", i, e.getMessage());
+                results[i] = OrderBatchResult.failed(i, e.getMessage());
+            }
+        }
+
+        log.trace("Saving {} orders to database", orders.size());
+        var savedOrders = orderRepository.saveAll(orders);
+        savedOrders.forEach(this::registerCreated);
+        orderEventPublisher.publishOrdersCreated(savedOrders.stream()
+                .map(order -> orderMapper.toOrderCreatedEvent(order, order.getTotalAmount()))
+                .toList());
+
+        var responses = toResponses(savedOrders, fields);
+        for (int i = 0; i < responses.size(); i++) {
+            results[indexes.get(i)] = OrderBatchResult.created(indexes.get(i), responses.get(i));
+        }
+        log.debug("Created {} of {} orders in batch", savedOrders.size(), requests.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Retrieves an order by its ID. The order view is served from the order response cache when present,
+     * otherwise it is loaded with its items, authorized and cached. Not transactional, so cache hits do not
+     * borrow a connection.
+     *
+     * @param id     The order ID.
+     * @param fields The fields to include in the response.
      * @return The order response.
      * @throws OrderNotFoundException If no orders are found for the given IDs.
+     * @throws AccessDeniedException If the principal may not access the order.
      */
     @Override
-    @Transactional(readOnly = true)
-    public OrderResponse getById(UUID id) {
+    public OrderResponse getById(UUID id, OrderFields fields) {
         log.debug("Fetching order by ID: {}", id);
-        return orderRepository
-                .findById(id)
-                .map(order -> {
-                    log.trace("Order found, fetching user data for user ID: {}", order.getUserId());
-                    var response = orderMapper.toResponse(order, userDataService.fetchUserData(order.getUserId()));
-                    log.debug("Successfully fetched order with ID: {}", id);
-                    return response;
-                })
-                .orElseThrow(() -> {
-                    log.debug("Order not found with ID: {}", id);
-                    return new OrderNotFoundException(id);
-                });
+        var view = orderResponseCache.get(id);
+        if (view != null) {
+            log.trace("Order found in cache with ID: {}", id);
+            securityService.checkCanAccessOrderOwnedBy(view.userId());
+        } else {
+            var generation = orderResponseCache.generation();
+            var order = orderIdFilter.mightExist(id)
+                    ? orderRepository.findWithOrderItemsById(id).orElse(null)
+                    : null;
+            securityService.checkCanAccessOrder(order);
+            if (order == null) {
+                log.debug("Order not found with ID: {}", id);
+                throw new OrderNotFoundException(id);
+            }
+            log.trace("Order found with ID: {}", id);
+            view = orderMapper.toResponse(order, null, OrderFields.ALL);
+            orderResponseCache.put(id, view, generation);
+        }
+        var user = fields.includesUserData() ? userDataService.fetchUserData(view.userId()) : null;
+        log.debug("Successfully fetched order with ID: {}", id);
+        return view.select(fields, user);
+    }
+
+    /**
+     * Retrieves the revision of an order without loading it, for revalidating conditional reads.
+     * The revision is taken from the order response cache when present, otherwise from a query
+     * selecting only the owner, the version and the latest item update. Not transactional, so cache hits
+     * do not borrow a connection.
+     *
+     * @param id The order ID.
+     * @return The order revision.
+     * @throws OrderNotFoundException If no orders are found for the given ID.
+     * @throws AccessDeniedException If the principal may not access the order.
+     */
+    @Override
+    public OrderRevision getRevision(UUID id) {
+        log.debug("Fetching revision of order with ID: {}", id);
+        var view = orderResponseCache.get(id);
+        if (view != null) {
+            log.trace("Order found in cache with ID: {}", id);
+            securityService.checkCanAccessOrderOwnedBy(view.userId());
+            return view.revision();
+        }
+        var version = orderIdFilter.mightExist(id) ? orderRepository.findVersionById(id).orElse(null) : null;
+        securityService.checkCanAccessOrderOwnedBy(version == null ? null : version.userId());
+        if (version == null) {
+            log.debug("Order not found with ID: {}", id);
+            throw new OrderNotFoundException(id);
+        }
+        return new OrderRevision(version.version(), version.itemsUpdatedAt());
     }
 
     /**
      * Retrieves multiple orders by their IDs.
      *
-     * @param ids The list of order IDs.
+     * @param ids    The list of order IDs.
+     * @param fields The fields to include in the responses.
      * @return The list of order responses.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllByIds(List<UUID> ids) {
+    public List<OrderResponse> getAllByIds(List<UUID> ids, OrderFields fields) {
         log.debug("Fetching orders by IDs, count: {}", ids.size());
-        var orders = orderRepository
-                .findByIdIn(ids)
-                .stream()
-                .map(order -> {
-                    log.trace("Processing order with ID: {} for user ID: {}", order.getId(), order.getUserId());
-                    return orderMapper.toResponse(order, userDataService.fetchUserData(order.getUserId()));
-                })
-                .toList();
+        var orders = toResponses(orderRepository.findByIdIn(ids), fields);
         log.debug("Successfully fetched {} orders by IDs", orders.size());
         return orders;
     }
 
     /**
-     * Retrieves multiple orders by their statuses.
+     * Retrieves a page of orders by their statuses, ordered by status, creation date and ID. Pages are located
+     * by the key of the last order of the previous page instead of an offset, so every page costs the same
+     * regardless of how many orders precede it.
      *
-     * @param statuses The list of order statuses.
-     * @return The list of order responses.
+     * @param statuses  The list of order statuses.
+     * @param pageToken The token of the page to retrieve, or null for the first page.
+     * @param size      The maximum number of orders in the page.
+     * @param fields    The fields to include in the responses.
+     * @return The page of order responses.
+     * @throws InvalidPageTokenException If the page token is malformed.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllByStatuses(List<String> statuses) {
-        log.debug("Fetching orders by statuses: {}", statuses);
+    public OrderPage getPageByStatuses(List<String> statuses, String pageToken, int size, OrderFields fields) {
+        log.debug("Fetching page of {} orders by statuses: {}", size, statuses);
 
         var orderStatuses = statuses.stream()
                 .map(s -> {
@@ -129,17 +242,31 @@ public class OrderServiceImpl implements OrderService {
                 })
                 .filter(Objects::nonNull)
                 .toList();
+        if (orderStatuses.isEmpty()) {
+            return OrderPage.empty();
+        }
 
-        var orders = orderRepository
-                .findByStatusIn(orderStatuses)
-                .stream()
-                .map(order -> {
-                    log.trace("Processing order with ID: {} and status: {}", order.getId(), order.getStatus());
-                    return orderMapper.toResponse(order, userDataService.fetchUserData(order.getUserId()));
-                })
+        var limit = Limit.of(size + 1);
+        var keys = pageToken == null
+                ? orderRepository.findFirstKeysByStatusIn(orderStatuses, limit)
+                : findKeysAfter(orderStatuses, decodePageToken(pageToken), limit);
+        var hasNext = keys.size() > size;
+        if (hasNext) {
+            keys = keys.subList(0, size);
+        }
+        if (keys.isEmpty()) {
+            return OrderPage.empty();
+        }
+
+        var ordersById = orderRepository.findByIdIn(keys.stream().map(OrderKey::id).toList()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        var orders = keys.stream()
+                .map(key -> ordersById.get(key.id()))
+                .filter(Objects::nonNull)
                 .toList();
+        var nextPageToken = hasNext ? encodePageToken(keys.get(keys.size() - 1)) : null;
         log.debug("Successfully fetched {} orders by statuses", orders.size());
-        return orders;
+        return new OrderPage(toResponses(orders, fields), nextPageToken);
     }
 
     /**
@@ -147,34 +274,36 @@ public class OrderServiceImpl implements OrderService {
      *
      * @param id The order ID.
      * @param request The order update request.
+     * @param fields  The fields to include in the response.
      * @return The updated order response.
      * @throws OrderNotFoundException If no orders are found for the given ID.
+     * @throws AccessDeniedException  If the principal may not manage the order.
      */
     @Override
     @Transactional
-    public OrderResponse update(UUID id, OrderUpdateRequest request) {
+    public OrderResponse update(UUID id, OrderUpdateRequest request, OrderFields fields) {
         log.debug("Updating order with ID: {}", id);
-        var order = orderRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    log.debug("Order for update not found with ID: {}", id);
-                    return new OrderNotFoundException(id);
-                });
+        var order = findIfMightExist(id);
+        securityService.checkCanManageOrder(order);
+        if (order == null) {
+            log.debug("Order for update not found with ID: {}", id);
+            throw new OrderNotFoundException(id);
+        }
 
         log.debug("Mapping order items for order ID: {}", id);
-        var orderItems = request.orderItems().stream()
-                .map(orderItemService::create)
-                .peek(orderItem -> orderItem.setOrder(order))
-                .toList();
+        var orderItems = orderItemService.createAll(request.orderItems());
+        orderItems.forEach(orderItem -> orderItem.setOrder(order));
 
         order.getOrderItems().clear();
         orderItems.forEach(order::addOrderItem);
+        order.recalculateTotals();
 
         log.trace("Saving updated order to database");
-        var savedOrder = orderRepository.save(order);
+        var savedOrder = orderRepository.saveAndFlush(order);
+        evictChanged(id, savedOrder.getVersion());
         log.debug("Order updated successfully for ID: {}", savedOrder.getId());
 
-        return orderMapper.toResponse(savedOrder, userDataService.fetchUserData(savedOrder.getUserId()));
+        return toResponse(savedOrder, fields);
     }
 
     /**
@@ -182,11 +311,12 @@ public class OrderServiceImpl implements OrderService {
      *
      * @param id      The order ID.
      * @param request The change order status request.
+     * @param fields  The fields to include in the response.
      * @return The updated order response.
      */
     @Override
     @Transactional
-    public OrderResponse changeStatus(UUID id, ChangeOrderStatusRequest request) {
+    public OrderResponse changeStatus(UUID id, ChangeOrderStatusRequest request, OrderFields fields) {
         log.debug("Changing status for order with ID: {}", id);
         var order = orderRepository
                 .findById(id)
@@ -196,10 +326,11 @@ public class OrderServiceImpl implements OrderService {
                 });
         order.setStatus(request.status());
         log.trace("Saving order with new status to database");
-        orderRepository.save(order);
+        orderRepository.saveAndFlush(order);
+        evictChanged(id, order.getVersion());
         log.debug("Order status changed successfully for ID: {}", order.getId());
 
-        return orderMapper.toResponse(order, userDataService.fetchUserData(order.getUserId()));
+        return toResponse(order, fields);
     }
 
     /**
@@ -207,24 +338,167 @@ public class OrderServiceImpl implements OrderService {
      *
      * @param id The order ID.
      * @throws OrderNotFoundException If no orders are found for the given ID.
+     * @throws AccessDeniedException  If the principal may not manage the order.
      */
     @Override
     @Transactional
     public void delete(UUID id) {
         log.debug("Deleting order with ID: {}", id);
-        var order = orderRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    log.debug("Order for deletion not found with ID: {}", id);
-                    return new OrderNotFoundException(id);
-                });
+        var order = findIfMightExist(id);
+        securityService.checkCanManageOrder(order);
+        if (order == null) {
+            log.debug("Order for deletion not found with ID: {}", id);
+            throw new OrderNotFoundException(id);
+        }
         orderRepository.delete(order);
+        orderResponseCache.evict(id, OrderResponseCache.DELETED);
+        orderEventPublisher.publishOrderChanged(new OrderChangedEvent(id, null));
+        afterCommit(() -> orderOwnershipIndex.remove(id));
         log.debug("Order deleted successfully with ID: {}", id);
     }
 
-    private Long getOrderAmount(Order order) {
-        return order.getOrderItems().stream()
-                .mapToLong(orderItem -> orderItem.getItem().getPrice() * orderItem.getQuantity())
-                .sum();
+    /**
+     * Maps an order to a response, fetching user data only if it is requested.
+     *
+     * @param order  The order to map.
+     * @param fields The fields to include in the response.
+     * @return The order response.
+     */
+    private OrderResponse toResponse(Order order, OrderFields fields) {
+        if (!fields.includesUserData()) {
+            return orderMapper.toResponse(order, null, fields);
+        }
+        log.trace("Fetching user data for user ID: {}", order.getUserId());
+        return orderMapper.toResponse(order, userDataService.fetchUserData(order.getUserId()), fields);
+    }
+
+    /**
+     * Maps orders to responses, resolving user data once per distinct user instead of once per order,
+     * and not at all if user data is not requested.
+     *
+     * @param orders The orders to map.
+     * @param fields The fields to include in the responses.
+     * @return The list of order responses in the same order as the given orders.
+     */
+    private List<OrderResponse> toResponses(List<Order> orders, OrderFields fields) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        if (!fields.includesUserData()) {
+            return orders.stream()
+                    .map(order -> orderMapper.toResponse(order, null, fields))
+                    .toList();
+        }
+        var userIds = orders.stream()
+                .map(Order::getUserId)
+                .toList();
+        var users = userDataService.fetchUserDataByIds(userIds);
+        return orders.stream()
+                .map(order -> {
+                    log.trace("Processing order with ID: {} for user ID: {}", order.getId(), order.getUserId());
+                    return orderMapper.toResponse(order, users.get(order.getUserId()), fields);
+                })
+                .toList();
+    }
+
+    /**
+     * Builds a new order in status "CREATED" with the current date as creation date and its totals calculated.
+     *
+     * @param request    The order creation request.
+     * @param orderItems The order items.
+     * @return The order to save.
+     */
+    private Order toNewOrder(OrderCreateRequest request, List<OrderItem> orderItems) {
+        var order = orderMapper.toEntity(request);
+        orderItems.forEach(orderItem -> orderItem.setOrder(order));
+        order.setOrderItems(orderItems);
+        order.recalculateTotals();
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreationDate(LocalDate.now());
+        return order;
+    }
+
+    private List<OrderKey> findKeysAfter(List<OrderStatus> statuses, OrderKey after, Limit limit) {
+        return orderRepository.findKeysByStatusInAfter(statuses, after.status(), after.creationDate(), after.id(),
+                limit);
+    }
+
+    private String encodePageToken(OrderKey key) {
+        var token = key.status() + ":" + key.creationDate() + ":" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private OrderKey decodePageToken(String pageToken) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3) {
+                throw new InvalidPageTokenException();
+            }
+            return new OrderKey(UUID.fromString(parts[2]), OrderStatus.valueOf(parts[0]), LocalDate.parse(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.debug("Invalid page token: {}", pageToken);
+            throw new InvalidPageTokenException();
+        }
+    }
+
+    /**
+     * Evicts a changed order from the order response cache of this instance and publishes the change so that
+     * other instances evict it as well. The order must have been flushed, so that its version is the one
+     * the change is committed with.
+     *
+     * @param id      The order ID.
+     * @param version The version of the order after the change.
+     */
+    private void evictChanged(UUID id, long version) {
+        orderResponseCache.evict(id, version);
+        orderEventPublisher.publishOrderChanged(new OrderChangedEvent(id, version));
+    }
+
+    /**
+     * Adds a created order to the ownership index and the order ID filter once the creating transaction
+     * commits, so that a rolled back order is never reported as existing.
+     *
+     * @param order The created order.
+     */
+    private void registerCreated(Order order) {
+        var orderId = order.getId();
+        var userId = order.getUserId();
+        afterCommit(() -> {
+            orderOwnershipIndex.put(orderId, userId);
+            orderIdFilter.add(orderId);
+        });
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately if no transaction is active.
+     * In-memory indexes must not reflect changes that may still be rolled back.
+     *
+     * @param action The action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Loads an order unless the order ID filter reports that it definitely does not exist.
+     *
+     * @param id The order ID.
+     * @return The order, or null if it does not exist.
+     */
+    private Order findIfMightExist(UUID id) {
+        if (!orderIdFilter.mightExist(id)) {
+            log.trace("Order ID: {} rejected by order ID filter", id);
+            return null;
+        }
+        return orderRepository.findById(id).orElse(null);
     }
 }
\ No newline at end of file
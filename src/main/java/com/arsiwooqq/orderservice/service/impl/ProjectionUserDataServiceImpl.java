@@ -0,0 +1,92 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.dto.UserResponse;
+import com.arsiwooqq.orderservice.entity.UserProjection;
+import com.arsiwooqq.orderservice.enums.UserChangeType;
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+import com.arsiwooqq.orderservice.exception.NotRetryableException;
+import com.arsiwooqq.orderservice.mapper.UserProjectionMapper;
+import com.arsiwooqq.orderservice.repository.UserProjectionRepository;
+import com.arsiwooqq.orderservice.service.UserDataService;
+import com.arsiwooqq.orderservice.service.UserProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves user data from the local user projection instead of calling the user service.
+ * The projection is maintained from user change events, so the user service is not on the read path at all.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user-data.source", havingValue = "projection")
+public class ProjectionUserDataServiceImpl implements UserDataService, UserProjectionService {
+    private final UserProjectionRepository userProjectionRepository;
+    private final UserProjectionMapper userProjectionMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponse fetchUserData(String userId) {
+        log.debug("Fetching user data from projection for user ID: {}", userId);
+        return userProjectionRepository.findByUserIdAndDeletedFalse(userId)
+                .map(userProjectionMapper::toResponse)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, UserResponse> fetchUserDataByIds(Collection<String> userIds) {
+        var distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        log.debug("Fetching user data from projection for {} distinct users", distinctIds.size());
+        return userProjectionRepository.findByUserIdInAndDeletedFalse(distinctIds).stream()
+                .collect(Collectors.toMap(UserProjection::getUserId, userProjectionMapper::toResponse,
+                        (first, second) -> first));
+    }
+
+    /**
+     * Applies a user change event to the projection. Events older than the stored state are ignored,
+     * so redelivered or reordered events do not overwrite newer data. Deleted users are replaced with
+     * a tombstone rather than removed, so older events cannot bring them back.
+     *
+     * @param event The user change event.
+     * @throws NotRetryableException If the event has no user ID or timestamp.
+     */
+    @Override
+    @Transactional
+    public void apply(UserChangedEvent event) {
+        if (event.userId() == null || event.occurredAt() == null) {
+            throw new NotRetryableException("Invalid user changed event: " + event);
+        }
+        var existing = userProjectionRepository.findById(event.userId());
+        if (existing.isPresent() && existing.get().getUpdatedAt().isAfter(event.occurredAt())) {
+            log.debug("Skipping outdated {} event for user ID: {}", event.type(), event.userId());
+            return;
+        }
+
+        if (event.type() == UserChangeType.DELETED) {
+            log.debug("Removing user ID: {} from projection", event.userId());
+            userProjectionRepository.save(new UserProjection(event.userId(), null, null, null, null,
+                    event.occurredAt(), true));
+            return;
+        }
+        if (event.type() == UserChangeType.UNKNOWN) {
+            throw new NotRetryableException("Unknown user change type for user ID: " + event.userId());
+        }
+
+        var userProjection = existing.orElseGet(UserProjection::new);
+        userProjectionMapper.update(event, userProjection);
+        userProjectionRepository.save(userProjection);
+        log.debug("User ID: {} updated in projection", event.userId());
+    }
+}
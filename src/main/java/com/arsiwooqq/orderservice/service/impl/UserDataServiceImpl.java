@@ -1,32 +1,313 @@
 package com.arsiwooqq.orderservice.service.impl;
 
+import com.arsiwooqq.orderservice.cache.SingleFlight;
+import com.arsiwooqq.orderservice.cache.UserDataCache;
 import com.arsiwooqq.orderservice.client.UserServiceClient;
+import com.arsiwooqq.orderservice.config.UserDataExecutor;
 import com.arsiwooqq.orderservice.dto.UserResponse;
 import com.arsiwooqq.orderservice.service.UserDataService;
 import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "user-data.source", havingValue = "remote", matchIfMissing = true)
 public class UserDataServiceImpl implements UserDataService {
+    private static final String USER_SERVICE_CIRCUIT_BREAKER = "user-service";
+
     private final UserServiceClient userServiceClient;
+    private final UserDataCache userDataCache;
+    private final UserDataExecutor userDataExecutor;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final SingleFlight<String, UserResponse> userLookups = new SingleFlight<>();
+    private final Set<String> refreshingIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${user-data.bulk-fetch.enabled:false}")
+    private boolean bulkFetchEnabled;
+
+    @Value("${user-data.bulk-fetch.batch-size:100}")
+    private int bulkFetchBatchSize;
 
+    @Value("${user-data.lookup-timeout:2s}")
+    private Duration lookupTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Resolves user data for a user. If the cached entry has expired but the last known user data
+     * is still available, it is returned immediately and refreshed in the background.
+     *
+     * @param userId The user ID.
+     * @return The user data, or null if it could not be resolved.
+     */
     @Override
     public UserResponse fetchUserData(String userId) {
+        var cached = userDataCache.get(userId);
+        if (cached != null) {
+            log.trace("User data for user ID: {} found in cache", userId);
+            return cached.userData();
+        }
+        var stale = userDataCache.getStale(userId);
+        if (stale != null) {
+            log.trace("Serving stale user data for user ID: {}", userId);
+            refreshInBackground(List.of(userId));
+            return stale;
+        }
+        return lookupUserData(userId);
+    }
+
+    /**
+     * Resolves user data for a set of users, requesting every distinct user ID only once.
+     * Users found in the cache are not requested at all, users with stale data are served from it
+     * and refreshed in the background. The remaining users are fetched
+     * concurrently on the user data executor, through the bulk endpoint of the user service
+     * when it is enabled, or with one request per user otherwise or when a bulk request fails.
+     * The whole lookup is bounded by the lookup timeout.
+     *
+     * @param userIds The user IDs, possibly containing duplicates.
+     * @return The user data keyed by user ID. Users that could not be resolved are absent.
+     */
+    @Override
+    public Map<String, UserResponse> fetchUserDataByIds(Collection<String> userIds) {
+        var deadline = System.nanoTime() + lookupTimeout.toNanos();
+        var distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(LinkedHashSet<String>::new, LinkedHashSet::add, LinkedHashSet::addAll);
+        log.debug("Fetching user data for {} distinct users out of {} requested", distinctIds.size(), userIds.size());
+
+        Map<String, UserResponse> result = new HashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        List<String> staleIds = new ArrayList<>();
+        for (var userId : distinctIds) {
+            var cached = userDataCache.get(userId);
+            if (cached != null) {
+                if (!cached.isUnknown()) {
+                    result.put(userId, cached.userData());
+                }
+                continue;
+            }
+            var stale = userDataCache.getStale(userId);
+            if (stale != null) {
+                result.put(userId, stale);
+                staleIds.add(userId);
+            } else {
+                missingIds.add(userId);
+            }
+        }
+        log.trace("{} of {} distinct users found in cache, {} of them stale",
+                distinctIds.size() - missingIds.size(), distinctIds.size(), staleIds.size());
+        refreshInBackground(staleIds);
+
+        if (bulkFetchEnabled) {
+            missingIds = fetchInBatches(missingIds, result, deadline);
+        }
+        fetchOneByOne(missingIds, result, deadline);
+
+        log.debug("Resolved user data for {} of {} distinct users", result.size(), distinctIds.size());
+        return result;
+    }
+
+    /**
+     * Fetches user data from the user service, sharing one outstanding call between concurrent
+     * callers asking for the same user.
+     *
+     * @param userId The user ID.
+     * @return The user data, or the last known user data if it could not be fetched within the lookup timeout.
+     */
+    private UserResponse lookupUserData(String userId) {
+        try {
+            return userLookups.execute(userId, () -> {
+                var cached = userDataCache.get(userId);
+                return cached != null ? cached.userData() : loadUserData(userId);
+            }, lookupTimeout);
+        } catch (TimeoutException e) {
+            log.debug("Timed out waiting for user data for user ID: {}", userId);
+            return userDataCache.getStale(userId);
+        }
+    }
+
+    /**
+     * Refreshes user data in the background. Nothing is requested while the user service circuit breaker
+     * is open, so degraded user service is not hit by refreshes; stale data keeps being served instead.
+     * Users that already have a refresh in flight are skipped, so concurrent requests seeing the same stale
+     * entries do not multiply calls to the user service.
+     *
+     * @param userIds The user IDs to refresh.
+     */
+    private void refreshInBackground(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!isUserServiceAvailable()) {
+            log.debug("User service circuit breaker is open, skipping refresh of {} users", userIds.size());
+            return;
+        }
+        log.debug("Refreshing user data in background for {} users", userIds.size());
+        if (bulkFetchEnabled) {
+            var claimedIds = userIds.stream()
+                    .filter(refreshingIds::add)
+                    .toList();
+            log.trace("{} of {} users already being refreshed", userIds.size() - claimedIds.size(), userIds.size());
+            partition(claimedIds).forEach(this::refreshBatch);
+        } else {
+            userIds.forEach(userId -> userLookups.submit(userId, () -> loadUserData(userId),
+                    userDataExecutor::execute));
+        }
+    }
+
+    /**
+     * Fetches one batch of users through the bulk endpoint on the user data executor and releases
+     * the users for further refreshes once it completes.
+     */
+    private void refreshBatch(List<String> userIds) {
+        try {
+            userDataExecutor.execute(() -> {
+                try {
+                    fetchBatch(userIds);
+                } finally {
+                    userIds.forEach(refreshingIds::remove);
+                }
+            });
+        } catch (RuntimeException e) {
+            userIds.forEach(refreshingIds::remove);
+            log.debug("Failed to schedule refresh of {} users", userIds.size(), e);
+        }
+    }
+
+    private boolean isUserServiceAvailable() {
+        var state = circuitBreakerRegistry.circuitBreaker(USER_SERVICE_CIRCUIT_BREAKER).getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private UserResponse loadUserData(String userId) {
         try {
             log.debug("Fetching user data for user ID: {}", userId);
             var response = userServiceClient.getById(userId);
             if (response != null && response.isSuccess() && response.getData() != null) {
                 log.debug("Successfully fetched user data for user ID: {}", userId);
+                userDataCache.put(userId, response.getData());
                 return response.getData();
             }
             log.debug("Fetching user data failed: {}", response);
+        } catch (FeignException.NotFound e) {
+            log.debug("User not found for user ID: {}", userId);
+            userDataCache.putUnknown(userId);
         } catch (FeignException e) {
             log.debug("Error while fetching user info for user ID: {}", userId, e);
         }
         return null;
     }
+
+    /**
+     * Fetches users through the bulk endpoint, one concurrent request per batch.
+     *
+     * @return The user IDs of batches the bulk endpoint failed to serve.
+     */
+    private List<String> fetchInBatches(List<String> userIds, Map<String, UserResponse> result, long deadline) {
+        var batches = partition(userIds);
+        List<CompletableFuture<Map<String, UserResponse>>> futures = new ArrayList<>(batches.size());
+        for (var batch : batches) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetchBatch(batch), userDataExecutor::execute));
+        }
+
+        List<String> failedIds = new ArrayList<>();
+        for (int i = 0; i < batches.size(); i++) {
+            var future = futures.get(i);
+            var users = await(future, deadline);
+            if (users != null) {
+                result.putAll(users);
+            } else if (future.isDone()) {
+                failedIds.addAll(batches.get(i));
+            }
+        }
+        return failedIds;
+    }
+
+    private void fetchOneByOne(List<String> userIds, Map<String, UserResponse> result, long deadline) {
+        Map<String, CompletableFuture<UserResponse>> futures = new LinkedHashMap<>();
+        for (var userId : userIds) {
+            futures.put(userId, userLookups.submit(userId, () -> {
+                var cached = userDataCache.get(userId);
+                return cached != null ? cached.userData() : loadUserData(userId);
+            }, userDataExecutor::execute));
+        }
+        futures.forEach((userId, future) -> {
+            var userData = await(future, deadline);
+            if (userData != null) {
+                result.put(userId, userData);
+            }
+        });
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Timed out waiting for user data");
+        } catch (ExecutionException e) {
+            log.debug("Error while fetching user data", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Fetches one batch of users through the bulk endpoint.
+     *
+     * @return The fetched users keyed by user ID, or null if the bulk request failed.
+     */
+    private Map<String, UserResponse> fetchBatch(List<String> userIds) {
+        try {
+            log.debug("Fetching user data in bulk for {} users", userIds.size());
+            var response = userServiceClient.getByIds(userIds);
+            if (response != null && response.isSuccess() && response.getData() != null) {
+                Map<String, UserResponse> users = new HashMap<>();
+                response.getData().stream()
+                        .filter(Objects::nonNull)
+                        .forEach(userData -> {
+                            userDataCache.put(userData.userId(), userData);
+                            users.put(userData.userId(), userData);
+                        });
+                userIds.stream()
+                        .filter(userId -> !users.containsKey(userId))
+                        .forEach(userDataCache::putUnknown);
+                return users;
+            }
+            log.debug("Fetching user data in bulk failed: {}", response);
+        } catch (FeignException e) {
+            log.debug("Error while fetching user info in bulk for {} users", userIds.size(), e);
+        }
+        return null;
+    }
+
+    private List<List<String>> partition(List<String> userIds) {
+        var batchSize = Math.max(1, bulkFetchBatchSize);
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            batches.add(userIds.subList(from, Math.min(from + batchSize, userIds.size())));
+        }
+        return batches;
+    }
 }
@@ -0,0 +1,122 @@
+package com.arsiwooqq.orderservice.benchmark;
+
+import com.arsiwooqq.orderservice.controller.AbstractIntegrationTest;
+import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.entity.Order;
+import com.arsiwooqq.orderservice.entity.OrderItem;
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.repository.ItemRepository;
+import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.security.SecurityService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares statement count and latency of the multi-order authorization check before and after switching
+ * from loading orders with their items to the ownership index. Needs a database, so it runs against the
+ * integration test containers and is not part of the regular test run:
+ * {@code mvn test -Dtest=OrderOwnershipQueryBenchmark}.
+ */
+@Slf4j
+@Testcontainers
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderOwnershipQueryBenchmark extends AbstractIntegrationTest {
+    private static final int ORDERS = 50;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Ownership index should check ownership of many orders without querying the database")
+    void compareCanAccessOrders() {
+        var userId = UUID.randomUUID().toString();
+        var orderIds = createOrders(userId);
+
+        var before = measure("findByIdIn with entity graph",
+                () -> orderRepository.findByIdIn(orderIds).stream()
+                        .allMatch(order -> order.getUserId().equals(userId)));
+        var after = measure("ownership index",
+                () -> securityService.canAccessOrders(userId, orderIds));
+
+        assertThat(after.statementsPerCheck()).isZero();
+        assertThat(after.rowsPerCheck()).isLessThan(before.rowsPerCheck());
+    }
+
+    private Result measure(String name, BooleanSupplier check) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(check.getAsBoolean()).isTrue();
+        }
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(check.getAsBoolean()).isTrue();
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var result = new Result(
+                (double) statistics.getPrepareStatementCount() / ITERATIONS,
+                (double) (statistics.getEntityLoadCount() + statistics.getCollectionLoadCount()) / ITERATIONS,
+                elapsed / 1_000.0 / ITERATIONS
+        );
+        log.info("{}: {} statements, {} loaded entities and collections, {} us per check",
+                name, result.statementsPerCheck(), result.rowsPerCheck(), result.microsPerCheck());
+        return result;
+    }
+
+    private List<UUID> createOrders(String userId) {
+        var items = IntStream.range(0, ITEMS_PER_ORDER)
+                .mapToObj(i -> itemRepository.save(new Item(null, "BENCHMARK_ITEM_" + i, 100L * (i + 1))))
+                .toList();
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            var order = new Order();
+            order.setUserId(userId);
+            order.setStatus(OrderStatus.CREATED);
+            order.setCreationDate(LocalDate.now());
+            order.setOrderItems(new ArrayList<>());
+            for (var item : items) {
+                var orderItem = new OrderItem();
+                orderItem.setItem(item);
+                orderItem.setQuantity(1);
+                orderItem.setUnitPrice(item.getPrice());
+                orderItem.setOrder(order);
+                order.getOrderItems().add(orderItem);
+            }
+            order.recalculateTotals();
+            orderIds.add(orderRepository.save(order).getId());
+        }
+        return orderIds;
+    }
+
+    private record Result(double statementsPerCheck, double rowsPerCheck, double microsPerCheck) {
+    }
+}
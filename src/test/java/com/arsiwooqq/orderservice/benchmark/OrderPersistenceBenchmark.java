@@ -0,0 +1,119 @@
+package com.arsiwooqq.orderservice.benchmark;
+
+import com.arsiwooqq.orderservice.controller.AbstractIntegrationTest;
+import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.entity.Order;
+import com.arsiwooqq.orderservice.entity.OrderItem;
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares statements per order and insert throughput with and without JDBC batching. The unbatched run sets
+ * the session batch size to 1, the batched run uses the configured batch size. Needs a database, so it runs
+ * against the integration test containers and is not part of the regular test run:
+ * {@code mvn test -Dtest=OrderPersistenceBenchmark}.
+ */
+@Slf4j
+@Testcontainers
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderPersistenceBenchmark extends AbstractIntegrationTest {
+    private static final int ORDERS = 200;
+    private static final int ITEMS_PER_ORDER = 20;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Batched inserts should need far fewer statements per order")
+    void compareBatchedInserts() {
+        var items = IntStream.range(0, ITEMS_PER_ORDER)
+                .mapToObj(i -> itemRepository.save(new Item(null, "BENCHMARK_ITEM_" + i, 100L * (i + 1))))
+                .toList();
+
+        measure("unbatched", items, 1);
+        var unbatched = measure("unbatched", items, 1);
+        measure("batched", items, null);
+        var batched = measure("batched", items, null);
+
+        assertThat(unbatched.statementsPerOrder()).isGreaterThanOrEqualTo(ITEMS_PER_ORDER + 1);
+        assertThat(batched.statementsPerOrder()).isLessThan(1);
+    }
+
+    private Result measure(String name, List<Item> items, Integer batchSize) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (batchSize != null) {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                }
+                for (int i = 0; i < ORDERS; i++) {
+                    entityManager.persist(createOrder(items));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var orders = ORDERS * ROUNDS;
+        var result = new Result(
+                (double) statistics.getPrepareStatementCount() / orders,
+                orders * (1 + ITEMS_PER_ORDER) / (elapsed / 1_000_000_000.0)
+        );
+        log.info("{}: {} statements per order, {} rows per second",
+                name, result.statementsPerOrder(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private Order createOrder(List<Item> items) {
+        var order = new Order();
+        order.setUserId("BENCHMARK_USER");
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreationDate(LocalDate.now());
+        order.setOrderItems(new ArrayList<>());
+        for (var item : items) {
+            var orderItem = new OrderItem();
+            orderItem.setItem(item);
+            orderItem.setQuantity(1);
+            orderItem.setUnitPrice(item.getPrice());
+            orderItem.setOrder(order);
+            order.addOrderItem(orderItem);
+        }
+        order.recalculateTotals();
+        return order;
+    }
+
+    private record Result(double statementsPerOrder, double rowsPerSecond) {
+    }
+}
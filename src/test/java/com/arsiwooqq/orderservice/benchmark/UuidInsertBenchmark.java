@@ -0,0 +1,75 @@
+package com.arsiwooqq.orderservice.benchmark;
+
+import com.arsiwooqq.orderservice.controller.AbstractIntegrationTest;
+import com.arsiwooqq.orderservice.entity.id.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares insert throughput and primary key index size of random version 4 and time-ordered version 7 UUIDs.
+ * Each run inserts the same number of rows into a scratch table with a uuid primary key and a second index,
+ * like {@code order_items} with its order ID foreign key index. The row count defaults to two million and
+ * can be changed with {@code -Dbenchmark.rows}. Needs a database, so it runs against the integration test
+ * containers and is not part of the regular test run: {@code mvn test -Dtest=UuidInsertBenchmark}.
+ */
+@Slf4j
+@Testcontainers
+class UuidInsertBenchmark extends AbstractIntegrationTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Version 7 UUIDs should insert faster and produce a smaller index than random UUIDs")
+    void compareUuidVersions() {
+        var random = measure("uuid_v4_benchmark", UUID::randomUUID);
+        var timeOrdered = measure("uuid_v7_benchmark", UuidV7Generator::generate);
+
+        assertThat(timeOrdered.indexBytes()).isLessThan(random.indexBytes());
+    }
+
+    private Result measure(String table, Supplier<UUID> generator) {
+        jdbcTemplate.execute("drop table if exists " + table);
+        jdbcTemplate.execute("create table " + table + " (id uuid primary key, parent_id uuid not null)");
+        jdbcTemplate.execute("create index " + table + "_parent_id_idx on " + table + " (parent_id)");
+
+        var start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            var parentId = generator.get();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                if (i % 20 == 0) {
+                    parentId = generator.get();
+                }
+                batch.add(new Object[]{generator.get(), parentId});
+            }
+            jdbcTemplate.batchUpdate("insert into " + table + " (id, parent_id) values (?, ?)", batch);
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var indexBytes = jdbcTemplate.queryForObject(
+                "select pg_relation_size('" + table + "_pkey') + pg_relation_size('" + table + "_parent_id_idx')",
+                Long.class);
+        var result = new Result(ROWS / (elapsed / 1_000_000_000.0), indexBytes);
+        log.info("{}: {} rows per second, {} MB of indexes",
+                table, Math.round(result.rowsPerSecond()), indexBytes / 1024 / 1024);
+        jdbcTemplate.execute("drop table " + table);
+        return result;
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {
+    }
+}
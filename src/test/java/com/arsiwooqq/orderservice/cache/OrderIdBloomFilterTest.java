@@ -0,0 +1,64 @@
+package com.arsiwooqq.orderservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdBloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every added ID")
+    void givenAddedIds_whenMightContain_thenReturnsTrue() {
+        // Given
+        var filter = new OrderIdBloomFilter(10_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // When
+        ids.forEach(filter::put);
+
+        // Then
+        ids.forEach(id -> assertTrue(filter.mightContain(id)));
+    }
+
+    @Test
+    @DisplayName("Should keep false-positive rate close to the target")
+    void givenFullFilter_whenMightContainUnknownIds_thenFalsePositiveRateCloseToTarget() {
+        // Given
+        var filter = new OrderIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID());
+        }
+
+        // When
+        var falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+        assertTrue(filter.falsePositiveRate() > 0.005 && filter.falsePositiveRate() < 0.02);
+        assertTrue(filter.memoryBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should not contain anything when empty")
+    void givenEmptyFilter_whenMightContain_thenReturnsFalse() {
+        // Given
+        var filter = new OrderIdBloomFilter(100, 0.01);
+
+        // When, Then
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+        assertEquals(0, filter.falsePositiveRate());
+    }
+}
@@ -0,0 +1,115 @@
+package com.arsiwooqq.orderservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderOwnershipIndexTest {
+
+    @Test
+    @DisplayName("Should return owners of indexed orders after the table grows")
+    void givenManyOrders_whenGetOwner_thenReturnsOwners() {
+        // Given
+        var index = new OrderOwnershipIndex(10_000);
+        var users = List.of("USER_1", "USER_2", "USER_3");
+        List<UUID> orderIds = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            var orderId = UUID.randomUUID();
+            orderIds.add(orderId);
+            index.put(orderId, users.get(i % users.size()));
+        }
+
+        // Then
+        assertEquals(5_000, index.size());
+        for (int i = 0; i < orderIds.size(); i++) {
+            assertEquals(users.get(i % users.size()), index.getOwner(orderIds.get(i)));
+        }
+        assertNull(index.getOwner(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should forget removed orders and keep finding the others")
+    void givenIndexedOrders_whenRemove_thenOnlyRemovedOrdersMissing() {
+        // Given
+        var index = new OrderOwnershipIndex(10_000);
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            var orderId = UUID.randomUUID();
+            orderIds.add(orderId);
+            index.put(orderId, "USER_" + (i % 3));
+        }
+
+        // When
+        for (int i = 0; i < orderIds.size(); i += 2) {
+            index.remove(orderIds.get(i));
+        }
+        index.remove(UUID.randomUUID());
+
+        // Then
+        assertEquals(2_500, index.size());
+        for (int i = 0; i < orderIds.size(); i++) {
+            if (i % 2 == 0) {
+                assertNull(index.getOwner(orderIds.get(i)));
+            } else {
+                assertEquals("USER_" + (i % 3), index.getOwner(orderIds.get(i)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the first owner of an order")
+    void givenIndexedOrder_whenPutAgain_thenKeepsFirstOwner() {
+        // Given
+        var index = new OrderOwnershipIndex(10);
+        var orderId = UUID.randomUUID();
+
+        // When
+        index.put(orderId, "USER_1");
+        index.put(orderId, "USER_2");
+
+        // Then
+        assertEquals("USER_1", index.getOwner(orderId));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should stop indexing orders when maximum size is reached")
+    void givenFullIndex_whenPut_thenOrderNotIndexed() {
+        // Given
+        var index = new OrderOwnershipIndex(1);
+        var orderId = UUID.randomUUID();
+        var otherOrderId = UUID.randomUUID();
+
+        // When
+        index.put(orderId, "USER_1");
+        index.put(otherOrderId, "USER_1");
+
+        // Then
+        assertEquals("USER_1", index.getOwner(orderId));
+        assertNull(index.getOwner(otherOrderId));
+    }
+
+    @Test
+    @DisplayName("Should report hit rate and memory footprint")
+    void givenLookups_whenHitRate_thenReportsRatioOfHits() {
+        // Given
+        var index = new OrderOwnershipIndex(10);
+        var orderId = UUID.randomUUID();
+        index.put(orderId, "USER_1");
+
+        // When
+        index.getOwner(orderId);
+        index.getOwner(UUID.randomUUID());
+
+        // Then
+        assertEquals(0.5, index.hitRate());
+        assertTrue(index.memoryBytes() > 0);
+    }
+}
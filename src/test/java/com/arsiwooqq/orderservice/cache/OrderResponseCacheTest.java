@@ -0,0 +1,191 @@
+package com.arsiwooqq.orderservice.cache;
+
+import com.arsiwooqq.orderservice.dto.OrderFields;
+import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.dto.OrderRevision;
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderResponseCacheTest {
+    private final OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(1));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return cached order until it is evicted")
+    void givenCachedOrder_whenEvict_thenNotCached() {
+        // Given
+        var order = getOrderResponse(1L);
+        cache.put(order.id(), order, cache.generation());
+
+        // When
+        var cached = cache.get(order.id());
+        cache.evict(order.id(), 2L);
+
+        // Then
+        assertEquals(order, cached);
+        assertNull(cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should not cache order older than the version it was evicted at")
+    void givenEvictedOrder_whenPutOlderVersion_thenNotCached() {
+        // Given
+        var order = getOrderResponse(1L);
+        cache.evict(order.id(), 2L);
+
+        // When
+        cache.put(order.id(), order, cache.generation());
+
+        // Then
+        assertNull(cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should cache order of the version it was evicted at")
+    void givenEvictedOrder_whenPutEvictedVersion_thenCached() {
+        // Given
+        var order = getOrderResponse(2L);
+        cache.evict(order.id(), 2L);
+
+        // When
+        cache.put(order.id(), order, cache.generation());
+
+        // Then
+        assertEquals(order, cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should not replace cached order with an older version")
+    void givenCachedOrder_whenPutOlderVersion_thenKeepsNewerVersion() {
+        // Given
+        var order = getOrderResponse(2L);
+        var outdated = new OrderResponse(order.id(), "USER", OrderStatus.CREATED, LocalDate.now(), 0L, 0,
+                List.of(), null, new OrderRevision(1L, null), OrderFields.ALL);
+        cache.put(order.id(), order, cache.generation());
+
+        // When
+        cache.put(order.id(), outdated, cache.generation());
+
+        // Then
+        assertEquals(order, cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should not cache deleted order")
+    void givenDeletedOrder_whenPut_thenNotCached() {
+        // Given
+        var order = getOrderResponse(1L);
+        cache.evict(order.id(), OrderResponseCache.DELETED);
+
+        // When
+        cache.put(order.id(), order, cache.generation());
+
+        // Then
+        assertNull(cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should evict order again when the transaction commits")
+    void givenActiveTransaction_whenEvict_thenEvictsAgainAfterCommit() {
+        // Given
+        var order = getOrderResponse(2L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.evict(order.id(), 2L);
+        cache.put(order.id(), order, cache.generation());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertNull(cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should cache order again when the transaction rolls back")
+    void givenActiveTransaction_whenEvictRolledBack_thenCachesPreviousVersion() {
+        // Given
+        var order = getOrderResponse(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.evict(order.id(), 2L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        cache.put(order.id(), order, cache.generation());
+
+        // Then
+        assertEquals(order, cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should evict all orders")
+    void givenCachedOrders_whenEvictAll_thenNothingCached() {
+        // Given
+        var order1 = getOrderResponse(1L);
+        var order2 = getOrderResponse(1L);
+        cache.put(order1.id(), order1, cache.generation());
+        cache.put(order2.id(), order2, cache.generation());
+
+        // When
+        cache.evictAll();
+
+        // Then
+        assertNull(cache.get(order1.id()));
+        assertNull(cache.get(order2.id()));
+    }
+
+    @Test
+    @DisplayName("Should not cache order loaded before all orders were evicted")
+    void givenGenerationBeforeEvictAll_whenPut_thenNotCached() {
+        // Given
+        var order = getOrderResponse(1L);
+        var generation = cache.generation();
+        cache.evictAll();
+
+        // When
+        cache.put(order.id(), order, generation);
+
+        // Then
+        assertNull(cache.get(order.id()));
+    }
+
+    @Test
+    @DisplayName("Should evict all orders again when the transaction completes")
+    void givenActiveTransaction_whenEvictAll_thenEvictsAgainAfterCompletion() {
+        // Given
+        var order = getOrderResponse(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.evictAll();
+        cache.put(order.id(), order, cache.generation());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertNull(cache.get(order.id()));
+    }
+
+    private OrderResponse getOrderResponse(long version) {
+        return new OrderResponse(UUID.randomUUID(), "USER", OrderStatus.CREATED, LocalDate.now(), 0L, 0,
+                List.of(), null, new OrderRevision(version, null), OrderFields.ALL);
+    }
+}
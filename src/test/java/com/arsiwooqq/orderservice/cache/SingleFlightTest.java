@@ -0,0 +1,108 @@
+package com.arsiwooqq.orderservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Should share one call between concurrent callers with the same key")
+    void givenConcurrentCallers_whenExecute_thenLoaderCalledOnce() throws Exception {
+        // Given
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("KEY", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "VALUE";
+            }, Duration.ofSeconds(5))));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("KEY", () -> {
+                    calls.incrementAndGet();
+                    return "OTHER";
+                }, Duration.ofSeconds(5))));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (var result : results) {
+                assertEquals("VALUE", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate failure of the shared call")
+    void givenFailingLoader_whenExecute_thenThrowsSameException() {
+        // Given
+        var exception = new IllegalArgumentException("FAILED");
+
+        // When, Then
+        var thrown = assertThrows(IllegalArgumentException.class,
+                () -> singleFlight.execute("KEY", () -> {
+                    throw exception;
+                }, Duration.ofSeconds(1)));
+        assertSame(exception, thrown);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should throw TimeoutException when shared call does not complete in time")
+    void givenSlowCall_whenExecuteWithShortTimeout_thenThrowsTimeoutException() throws Exception {
+        // Given
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> singleFlight.execute("KEY", () -> {
+                started.countDown();
+                await(release);
+                return "VALUE";
+            }, Duration.ofSeconds(5)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When, Then
+            assertThrows(TimeoutException.class,
+                    () -> singleFlight.execute("KEY", () -> "OTHER", Duration.ofMillis(50)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.arsiwooqq.orderservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenValidationCacheTest {
+    private final TokenValidationCache cache =
+            new TokenValidationCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Should cache valid and invalid tokens")
+    void givenValidationResults_whenGet_thenReturnsCachedResults() {
+        // When
+        cache.putValid("VALID", Instant.now().plusSeconds(60));
+        cache.putInvalid("INVALID");
+
+        // Then
+        assertEquals(true, cache.get("VALID"));
+        assertEquals(false, cache.get("INVALID"));
+        assertNull(cache.get("OTHER"));
+    }
+
+    @Test
+    @DisplayName("Should not cache already expired token")
+    void givenExpiredToken_whenPutValid_thenNotCached() {
+        // When
+        cache.putValid("TOKEN", Instant.now().minusSeconds(1));
+
+        // Then
+        assertNull(cache.get("TOKEN"));
+    }
+
+    @Test
+    @DisplayName("Should expire valid token at its expiration time when it is earlier than maximum TTL")
+    void givenTokenExpiringSoon_whenPutValid_thenExpiresWithToken() {
+        // When
+        cache.putValid("TOKEN", Instant.now().plusMillis(300));
+
+        // Then
+        assertEquals(true, cache.get("TOKEN"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> cache.get("TOKEN") == null);
+    }
+}
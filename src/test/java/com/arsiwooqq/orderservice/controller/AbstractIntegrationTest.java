@@ -36,6 +36,8 @@ public abstract class AbstractIntegrationTest {
         registry.add("kafka.bootstrap-servers", kafka::getBootstrapServers);
         registry.add("kafka.producer.topics.order-created.replicas", () -> 1);
         registry.add("kafka.producer.topics.order-created.min-insync", () -> 1);
+        registry.add("kafka.producer.topics.order-changed.replicas", () -> 1);
+        registry.add("kafka.producer.topics.order-changed.min-insync", () -> 1);
         registry.add("kafka.consumer.trusted-packages", () -> "*");
         registry.add("kafka.consumer.auto-offset-reset", () -> "earliest");
     }
@@ -0,0 +1,116 @@
+package com.arsiwooqq.orderservice.controller;
+
+import com.arsiwooqq.orderservice.dto.ItemResponse;
+import com.arsiwooqq.orderservice.entity.IdempotencyRecord;
+import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.repository.IdempotencyRecordRepository;
+import com.arsiwooqq.orderservice.repository.ItemRepository;
+import com.arsiwooqq.orderservice.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IdempotencyIntegrationTest extends AbstractIntegrationTest {
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate newTransaction;
+
+    @BeforeEach
+    void setUp() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should roll back the action when another instance stores the key first")
+    void givenKeyStoredWhileActionRuns_whenExecute_thenActionRolledBackAndStoredResponseReturned()
+            throws Exception {
+        // Given
+        var idempotencyKey = UUID.randomUUID().toString();
+        var request = "TEST_REQUEST";
+        var stored = new ItemResponse(UUID.randomUUID(), "STORED_ITEM", 100L);
+
+        // When
+        var result = idempotencyService.execute(idempotencyKey, request, ItemResponse.class, () -> {
+            var item = itemRepository.save(new Item(null, "DUPLICATE_ITEM", 200L));
+            insertInNewTransaction(idempotencyKey, request, stored, Instant.now().plus(Duration.ofHours(1)));
+            return new ItemResponse(item.getId(), item.getName(), item.getPrice());
+        });
+
+        // Then
+        assertEquals(stored, result);
+        assertTrue(itemRepository.findAll().stream().noneMatch(item -> "DUPLICATE_ITEM".equals(item.getName())));
+        var record = idempotencyRecordRepository.findById(new IdempotencyRecord.Key("", idempotencyKey))
+                .orElseThrow();
+        assertEquals(stored, objectMapper.readValue(record.getResponse(), ItemResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should replace an expired record with the same key")
+    void givenExpiredRecord_whenExecute_thenActionRunAndRecordReplaced() throws Exception {
+        // Given
+        var idempotencyKey = UUID.randomUUID().toString();
+        var request = "TEST_REQUEST";
+        insertInNewTransaction(idempotencyKey, request, new ItemResponse(UUID.randomUUID(), "EXPIRED_ITEM", 100L),
+                Instant.now().minus(Duration.ofMinutes(1)));
+
+        // When
+        var result = idempotencyService.execute(idempotencyKey, request, ItemResponse.class, () -> {
+            var item = itemRepository.save(new Item(null, "NEW_ITEM", 200L));
+            return new ItemResponse(item.getId(), item.getName(), item.getPrice());
+        });
+
+        // Then
+        assertEquals("NEW_ITEM", result.name());
+        assertTrue(itemRepository.findById(result.id()).isPresent());
+        var record = idempotencyRecordRepository.findById(new IdempotencyRecord.Key("", idempotencyKey))
+                .orElseThrow();
+        assertTrue(record.getExpiresAt().isAfter(Instant.now()));
+        assertEquals(result, objectMapper.readValue(record.getResponse(), ItemResponse.class));
+    }
+
+    /**
+     * Stores a record the way a request on another instance would, committing independently of the caller.
+     */
+    private void insertInNewTransaction(String idempotencyKey, String request, ItemResponse response,
+                                        Instant expiresAt) {
+        try {
+            var serialized = objectMapper.writeValueAsString(response);
+            var digest = MessageDigest.getInstance("SHA-256");
+            var hash = HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+            newTransaction.executeWithoutResult(status -> idempotencyRecordRepository.insertIfAbsentOrExpired(
+                    new IdempotencyRecord(new IdempotencyRecord.Key("", idempotencyKey), hash, serialized,
+                            expiresAt.minus(Duration.ofHours(2)), expiresAt)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -94,10 +94,12 @@ public class KafkaIntegrationTest extends AbstractIntegrationTest {
         var orderItem1 = new OrderItem();
         orderItem1.setItem(item1);
         orderItem1.setQuantity(1);
+        orderItem1.setUnitPrice(item1.getPrice());
 
         var orderItem2 = new OrderItem();
         orderItem2.setItem(item2);
         orderItem2.setQuantity(2);
+        orderItem2.setUnitPrice(item2.getPrice());
 
         var order = new Order();
         order.setUserId(UUID.randomUUID().toString());
@@ -107,6 +109,7 @@ public class KafkaIntegrationTest extends AbstractIntegrationTest {
 
         orderItem1.setOrder(order);
         orderItem2.setOrder(order);
+        order.recalculateTotals();
 
         return orderRepository.save(order);
     }
@@ -3,6 +3,7 @@ package com.arsiwooqq.orderservice.controller;
 import com.arsiwooqq.orderservice.dto.*;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.jayway.jsonpath.JsonPath;
 import com.arsiwooqq.orderservice.entity.Item;
 import com.arsiwooqq.orderservice.entity.Order;
 import com.arsiwooqq.orderservice.entity.OrderItem;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
@@ -39,11 +41,15 @@ import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Testcontainers
@@ -139,6 +145,83 @@ class OrderControllerTest extends AbstractIntegrationTest {
         assertEquals(order.getId(), event.orderId());
         assertEquals(order.getUserId(), event.userId());
         assertEquals(paymentAmount, event.paymentAmount());
+        assertEquals(paymentAmount, order.getTotalAmount());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reject idempotency key reused with a different field selection")
+    void givenIdempotencyKeyReusedWithDifferentFields_whenCreate_thenReturnsUnprocessableEntity() throws Exception {
+        var item = createItem(1);
+        var request = new OrderCreateRequest(UUID.randomUUID().toString(),
+                List.of(new OrderItemRequest(item.getId(), 1)));
+        var idempotencyKey = UUID.randomUUID().toString();
+
+        var orderId = JsonPath.read(mockMvc.perform(post("/api/v1/orders")
+                        .param("fields", "id", "status")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.data.id");
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .param("fields", "status", "id")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.id").value(orderId),
+                        jsonPath("$.data.userId").doesNotExist()
+                );
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .param("fields", "id", "userId")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should create valid orders of a batch and report failed ones")
+    void givenBatchWithMissingItem_whenCreateAll_thenCreatesValidOrdersAndReportsFailure() throws Exception {
+        var item = createItem(1);
+        var missingItemId = UUID.randomUUID();
+
+        var request = new OrderBatchCreateRequest(List.of(
+                new OrderCreateRequest(UUID.randomUUID().toString(), List.of(new OrderItemRequest(item.getId(), 1))),
+                new OrderCreateRequest(UUID.randomUUID().toString(), List.of(new OrderItemRequest(missingItemId, 1))),
+                new OrderCreateRequest(UUID.randomUUID().toString(), List.of(new OrderItemRequest(item.getId(), 2)))
+        ));
+
+        Consumer<String, Object> consumer = consumerFactory.createConsumer("TEST_GROUP", "TEST_CLIENT");
+        consumer.subscribe(Collections.singleton("ORDER_CREATED"));
+
+        mockMvc.perform(post("/api/v1/orders/batch")
+                        .param("fields", "id", "userId", "status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.success").value(true),
+                        jsonPath("$.data.length()").value(3),
+                        jsonPath("$.data[0].success").value(true),
+                        jsonPath("$.data[0].order.userId").value(request.orders().get(0).userId()),
+                        jsonPath("$.data[1].success").value(false),
+                        jsonPath("$.data[1].error", Matchers.containsString(missingItemId.toString())),
+                        jsonPath("$.data[2].success").value(true),
+                        jsonPath("$.data[2].order.status").value("CREATED")
+                );
+
+        assertEquals(2, orderRepository.count());
+        assertEquals(2, orderItemRepository.count());
+        ConsumerRecords<String, Object> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 2);
+        assertEquals(2, records.count());
     }
 
     @Test
@@ -190,6 +273,97 @@ class OrderControllerTest extends AbstractIntegrationTest {
                 );
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should serialize missing user data as null unless it is not selected")
+    void givenUnavailableUserService_whenGetById_thenReturnsNullUserDataOnlyIfSelected() throws Exception {
+        var order = createOrderWithItems();
+
+        stubFor(WireMock.get(urlMatching("/api/v1/users/.*")).willReturn(aResponse().withStatus(503)));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId()))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.id").value(order.getId().toString()),
+                        content().string(Matchers.containsString("\"userData\":null"))
+                );
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id", "userData"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.status").doesNotExist(),
+                        content().string(Matchers.containsString("\"userData\":null"))
+                );
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.id").value(order.getId().toString()),
+                        content().string(Matchers.not(Matchers.containsString("userData")))
+                );
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return not modified when order version matches the entity tag")
+    void givenMatchingETag_whenGetById_thenReturnsNotModified() throws Exception {
+        var order = createOrderWithItems();
+
+        var eTag = mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id", "status"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", order.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ChangeOrderStatusRequest(OrderStatus.PAID))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id", "status")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andExpect(jsonPath("$.data.status").value(OrderStatus.PAID.toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should change the entity tag when an item of the order is updated")
+    void givenUpdatedItem_whenGetById_thenReturnsNewETag() throws Exception {
+        var order = createOrderWithItems();
+        var item = order.getOrderItems().get(0).getItem();
+        var version = orderRepository.findById(order.getId()).orElseThrow().getVersion();
+
+        var eTag = mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id", "orderItems"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/v1/items/{id}", item.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemUpdateRequest("RENAMED_ITEM", 300L))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .param("fields", "id", "orderItems")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andExpect(jsonPath("$.data.orderItems[*].item.name", Matchers.hasItem("RENAMED_ITEM")));
+
+        assertEquals(version, orderRepository.findById(order.getId()).orElseThrow().getVersion());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("Should return not found when order does not exist")
@@ -281,14 +455,102 @@ class OrderControllerTest extends AbstractIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpectAll(
                         jsonPath("$.success").value(true),
-                        jsonPath("$.data.length()").value(2),
-                        jsonPath("$.data[*].userData.userId",
+                        jsonPath("$.data.orders.length()").value(2),
+                        jsonPath("$.data.orders[*].userData.userId",
                                 Matchers.containsInAnyOrder(order1.getUserId(),
                                         order2.getUserId())
-                        )
+                        ),
+                        jsonPath("$.data.nextPageToken").doesNotExist()
                 );
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should page through orders by statuses with page tokens")
+    void givenMoreOrdersThanPageSize_whenGetAllByStatuses_thenReturnsPages() throws Exception {
+        var order1 = createOrderWithItems();
+        var order2 = createOrderWithItems();
+        var order3 = createOrderWithItems();
+
+        var firstPage = mockMvc.perform(get("/api/v1/orders")
+                        .param("statuses", "CREATED")
+                        .param("size", "2")
+                        .param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.orders.length()").value(2),
+                        jsonPath("$.data.nextPageToken").exists()
+                )
+                .andReturn();
+        var pageToken = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .at("/data/nextPageToken").asText();
+
+        var secondPage = mockMvc.perform(get("/api/v1/orders")
+                        .param("statuses", "CREATED")
+                        .param("size", "2")
+                        .param("fields", "id")
+                        .param("pageToken", pageToken))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.data.orders.length()").value(1),
+                        jsonPath("$.data.nextPageToken").doesNotExist()
+                )
+                .andReturn();
+
+        var ids = new ArrayList<String>();
+        for (var page : List.of(firstPage, secondPage)) {
+            objectMapper.readTree(page.getResponse().getContentAsString())
+                    .at("/data/orders")
+                    .forEach(order -> ids.add(order.get("id").asText()));
+        }
+        assertEquals(3, ids.size());
+        assertTrue(ids.containsAll(List.of(order1.getId().toString(), order2.getId().toString(),
+                order3.getId().toString())));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should export orders of a date range as newline-delimited JSON")
+    void givenOrders_whenExport_thenStreamsOneOrderPerLine() throws Exception {
+        var order1 = createOrderWithItems();
+        var order2 = createOrderWithItems();
+
+        var asyncResult = mockMvc.perform(get("/api/v1/orders/export")
+                        .param("from", LocalDate.now().minusDays(1).toString())
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        var lines = result.getResponse().getContentAsString().lines().toList();
+        assertEquals(2, lines.size());
+        var orders = new ArrayList<OrderResponse>();
+        for (var line : lines) {
+            orders.add(objectMapper.readValue(line, OrderResponse.class));
+        }
+        assertTrue(orders.stream().map(OrderResponse::id).toList()
+                .containsAll(List.of(order1.getId(), order2.getId())));
+        orders.forEach(order -> {
+            assertEquals(2, order.orderItems().size());
+            assertEquals(500L, order.totalAmount());
+            assertNull(order.userResponse());
+        });
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return bad request when page size exceeds the maximum")
+    void givenTooLargePageSize_whenGetAllByStatuses_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/orders")
+                        .param("statuses", "CREATED")
+                        .param("size", "100000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("Should return empty list when no orders found")
@@ -298,7 +560,7 @@ class OrderControllerTest extends AbstractIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpectAll(
                         jsonPath("$.success").value(true),
-                        jsonPath("$.data.length()").value(0)
+                        jsonPath("$.data.orders.length()").value(0)
                 );
     }
 
@@ -530,10 +792,12 @@ class OrderControllerTest extends AbstractIntegrationTest {
         var orderItem1 = new OrderItem();
         orderItem1.setItem(item1);
         orderItem1.setQuantity(1);
+        orderItem1.setUnitPrice(item1.getPrice());
 
         var orderItem2 = new OrderItem();
         orderItem2.setItem(item2);
         orderItem2.setQuantity(2);
+        orderItem2.setUnitPrice(item2.getPrice());
 
         var order = new Order();
         order.setUserId(UUID.randomUUID().toString());
@@ -543,6 +807,7 @@ class OrderControllerTest extends AbstractIntegrationTest {
 
         orderItem1.setOrder(order);
         orderItem2.setOrder(order);
+        order.recalculateTotals();
 
         return orderRepository.save(order);
     }
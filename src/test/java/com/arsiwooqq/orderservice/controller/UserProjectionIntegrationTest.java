@@ -0,0 +1,94 @@
+package com.arsiwooqq.orderservice.controller;
+
+import com.arsiwooqq.orderservice.enums.UserChangeType;
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+import com.arsiwooqq.orderservice.service.UserDataService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "user-data.source=projection")
+public class UserProjectionIntegrationTest extends AbstractIntegrationTest {
+    private static final String TOPIC = "USER_CHANGED";
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private UserDataService userDataService;
+
+    @Test
+    @DisplayName("Should serve user data from projection after USER_CHANGED event")
+    void givenUserChangedEvent_whenHandle_thenUserDataServedFromProjection() {
+        var userId = UUID.randomUUID().toString();
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.CREATED, "TEST_NAME", Instant.now()));
+
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> {
+                    var userData = userDataService.fetchUserData(userId);
+                    assertThat(userData).isNotNull();
+                    assertThat(userData.userId()).isEqualTo(userId);
+                    assertThat(userData.name()).isEqualTo("TEST_NAME");
+                });
+    }
+
+    @Test
+    @DisplayName("Should not restore deleted user from USER_CHANGED event older than deletion")
+    void givenOutdatedEventAfterDeletion_whenHandle_thenUserStaysDeleted() {
+        var userId = UUID.randomUUID().toString();
+        var createdAt = Instant.now();
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.CREATED, "TEST_NAME", createdAt));
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> assertThat(userDataService.fetchUserData(userId)).isNotNull());
+
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.DELETED, null, createdAt.plusSeconds(2)));
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.UPDATED, "NEW_NAME",
+                createdAt.plusSeconds(1)));
+
+        Awaitility.await()
+                .during(2, TimeUnit.SECONDS)
+                .atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> assertThat(userDataService.fetchUserData(userId)).isNull());
+    }
+
+    @Test
+    @DisplayName("Should remove user from projection after USER_CHANGED deletion event")
+    void givenUserDeletedEvent_whenHandle_thenUserDataRemovedFromProjection() {
+        var userId = UUID.randomUUID().toString();
+        var createdAt = Instant.now();
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.CREATED, "TEST_NAME", createdAt));
+        kafkaTemplate.send(TOPIC, userId, getEvent(userId, UserChangeType.DELETED, null, createdAt.plusSeconds(1)));
+
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> assertThat(userDataService.fetchUserDataByIds(List.of(userId)))
+                        .isEmpty());
+    }
+
+    private UserChangedEvent getEvent(String userId, UserChangeType type, String name, Instant occurredAt) {
+        return new UserChangedEvent(userId, type, name, "TEST_SURNAME", LocalDate.of(2000, 1, 1), "TEST@EMAIL",
+                occurredAt);
+    }
+}
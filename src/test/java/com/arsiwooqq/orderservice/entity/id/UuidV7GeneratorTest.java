@@ -0,0 +1,50 @@
+package com.arsiwooqq.orderservice.entity.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the current timestamp")
+    void givenGenerator_whenGenerate_thenReturnsVersion7Uuid() {
+        // Given
+        var before = System.currentTimeMillis();
+
+        // When
+        var uuid = UuidV7Generator.generate();
+
+        // Then
+        var timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertAll(
+                () -> assertEquals(7, uuid.version()),
+                () -> assertEquals(2, uuid.variant()),
+                () -> assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing UUIDs in byte order")
+    void givenManyUuids_whenGenerate_thenStrictlyIncreasing() {
+        // Given
+        List<UUID> uuids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(UuidV7Generator.generate());
+        }
+
+        // Then
+        for (int i = 1; i < uuids.size(); i++) {
+            var previous = uuids.get(i - 1).toString();
+            var current = uuids.get(i).toString();
+            assertTrue(previous.compareTo(current) < 0, previous + " is not before " + current);
+        }
+    }
+}
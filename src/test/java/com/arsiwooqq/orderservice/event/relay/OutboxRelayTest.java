@@ -0,0 +1,102 @@
+package com.arsiwooqq.orderservice.event.relay;
+
+import com.arsiwooqq.orderservice.entity.OutboxEvent;
+import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
+import com.arsiwooqq.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, objectMapper, transactionTemplate,
+                meterRegistry, 2, Duration.ofSeconds(1));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should send locked events and delete them, draining full batches")
+    void givenPendingEvents_whenRelay_thenSendsAndDeletesThem() throws Exception {
+        // Given
+        var first = List.of(getOutboxEvent(), getOutboxEvent());
+        var second = List.of(getOutboxEvent());
+
+        // When
+        when(outboxEventRepository.lockBatch(2)).thenReturn(first, second);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(outboxEventRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        outboxRelay.relay();
+
+        // Then
+        verify(kafkaTemplate, times(3)).send(eq("ORDER_CREATED"), anyString(), any(OrderCreatedEvent.class));
+        verify(kafkaTemplate, times(2)).flush();
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(first);
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(second);
+        assertEquals(3, meterRegistry.get("outbox.relay.events").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox when sending fails")
+    void givenFailingSend_whenRelay_thenEventsNotDeleted() throws Exception {
+        // Given
+        var events = List.of(getOutboxEvent());
+
+        // When
+        when(outboxEventRepository.lockBatch(2)).thenReturn(events);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+        when(outboxEventRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(events.get(0)));
+
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        assertEquals(0, meterRegistry.get("outbox.relay.events").counter().count());
+    }
+
+    private OutboxEvent getOutboxEvent() throws Exception {
+        var event = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), 100L);
+        return new OutboxEvent(UUID.randomUUID(), "ORDER_CREATED", event.orderId().toString(),
+                OrderCreatedEvent.class.getName(), objectMapper.writeValueAsString(event), Instant.now());
+    }
+}
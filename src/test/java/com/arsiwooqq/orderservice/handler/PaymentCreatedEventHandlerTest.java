@@ -1,6 +1,7 @@
 package com.arsiwooqq.orderservice.handler;
 
 import com.arsiwooqq.orderservice.dto.ChangeOrderStatusRequest;
+import com.arsiwooqq.orderservice.dto.OrderFields;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 import com.arsiwooqq.orderservice.enums.PaymentStatus;
 import com.arsiwooqq.orderservice.event.PaymentCreatedEvent;
@@ -30,7 +31,7 @@ public class PaymentCreatedEventHandlerTest {
         var orderId = UUID.randomUUID();
         handler.handle(new PaymentCreatedEvent(orderId, PaymentStatus.PAID));
         verify(orderService, times(1))
-                .changeStatus(orderId, new ChangeOrderStatusRequest(OrderStatus.PAID));
+                .changeStatus(orderId, new ChangeOrderStatusRequest(OrderStatus.PAID), OrderFields.of(OrderFields.ID));
     }
 
     @Test
@@ -39,6 +40,6 @@ public class PaymentCreatedEventHandlerTest {
         var orderId = UUID.randomUUID();
         handler.handle(new PaymentCreatedEvent(orderId, PaymentStatus.FAILED));
         verify(orderService, never())
-                .changeStatus(orderId, new ChangeOrderStatusRequest(OrderStatus.PAID));
+                .changeStatus(eq(orderId), any(), any());
     }
 }
@@ -2,6 +2,7 @@ package com.arsiwooqq.orderservice.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.arsiwooqq.orderservice.cache.TokenValidationCache;
 import com.arsiwooqq.orderservice.client.AuthServiceClient;
 import com.arsiwooqq.orderservice.dto.ApiResponse;
 import com.arsiwooqq.orderservice.dto.ValidateTokenRequest;
@@ -13,13 +14,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
@@ -41,12 +42,13 @@ class JwtFilterTest {
     @Mock
     private AuthServiceClient authServiceClient;
 
-    @InjectMocks
     private JwtFilter jwtFilter;
 
     @BeforeEach
-    void clearContext() {
+    void setUp() {
         SecurityContextHolder.clearContext();
+        jwtFilter = new JwtFilter(new RemoteTokenValidator(authServiceClient,
+                new TokenValidationCache(100, Duration.ofMinutes(5), Duration.ofSeconds(10))));
     }
 
     @Test
@@ -102,7 +104,8 @@ class JwtFilterTest {
         verify(filterChain).doFilter(request, response);
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNotNull(authentication);
-        assertEquals("123", authentication.getPrincipal());
+        assertEquals("123", authentication.getName());
+        assertEquals(token, ((JwtPrincipal) authentication.getPrincipal()).token());
         assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("USER")));
     }
 
@@ -110,7 +113,7 @@ class JwtFilterTest {
     @DisplayName("Should continue filter chain without authentication when token validation returns false")
     void givenInvalidToken_whenDoFilterInternal_thenContinueWithoutAuthentication() throws ServletException, IOException {
         // Given
-        var token = "TOKEN";
+        var token = createToken();
 
         var authResponse = ApiResponse.<Boolean>builder()
                 .success(true)
@@ -132,7 +135,7 @@ class JwtFilterTest {
     @DisplayName("Should continue filter chain without authentication when authServiceClient throws exception")
     void givenAuthServiceException_whenDoFilterInternal_thenContinueWithoutAuthentication() throws ServletException, IOException {
         // Given
-        var token = "TOKEN";
+        var token = createToken();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenThrow(new RuntimeException());
@@ -144,4 +147,72 @@ class JwtFilterTest {
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should validate the same token remotely only once")
+    void givenSameValidToken_whenDoFilterInternalTwice_thenValidatesOnce() throws ServletException, IOException {
+        // Given
+        var token = JWT.create()
+                .withSubject("123")
+                .withClaim("role", "USER")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+                .sign(Algorithm.HMAC256("SECRET"));
+
+        var authResponse = ApiResponse.<Boolean>builder()
+                .success(true)
+                .data(true)
+                .build();
+
+        // When
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(authResponse);
+
+        jwtFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(authServiceClient, times(1)).validate(any(ValidateTokenRequest.class));
+        assertEquals("123", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    @DisplayName("Should not cache validation result when auth service fails")
+    void givenAuthServiceException_whenDoFilterInternalTwice_thenValidatesTwice() throws ServletException, IOException {
+        // Given
+        var token = createToken();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenThrow(new RuntimeException());
+
+        // When
+        jwtFilter.doFilterInternal(request, response, filterChain);
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(authServiceClient, times(2)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed token without calling auth service")
+    void givenMalformedToken_whenDoFilterInternal_thenContinueWithoutValidation() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer TOKEN");
+
+        // When
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(authServiceClient);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private String createToken() {
+        return JWT.create()
+                .withSubject("123")
+                .withClaim("role", "USER")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+                .sign(Algorithm.HMAC256("SECRET"));
+    }
+}
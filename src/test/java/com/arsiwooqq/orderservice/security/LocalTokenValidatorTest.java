@@ -0,0 +1,187 @@
+package com.arsiwooqq.orderservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalTokenValidatorTest {
+    private static final String ISSUER = "TEST_ISSUER";
+
+    private static KeyPair keyPair;
+
+    private static KeyPair otherKeyPair;
+
+    @Mock
+    private TokenValidator revocationValidator;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        otherKeyPair = generator.generateKeyPair();
+    }
+
+    @Nested
+    @DisplayName("Validate with public key")
+    class PublicKeyTests {
+        private final LocalTokenValidator validator = new LocalTokenValidator(
+                JWT.require(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), null)).withIssuer(ISSUER).build(),
+                null);
+
+        @Test
+        @DisplayName("Should accept token signed with configured key")
+        void givenValidToken_whenValidate_thenReturnsTrue() {
+            assertTrue(validator.validate(createJwt(keyPair, null, ISSUER, Instant.now().plus(1, ChronoUnit.HOURS))));
+        }
+
+        @Test
+        @DisplayName("Should reject token signed with another key")
+        void givenTokenSignedWithOtherKey_whenValidate_thenReturnsFalse() {
+            assertFalse(validator.validate(
+                    createJwt(otherKeyPair, null, ISSUER, Instant.now().plus(1, ChronoUnit.HOURS))));
+        }
+
+        @Test
+        @DisplayName("Should reject token from another issuer")
+        void givenTokenFromOtherIssuer_whenValidate_thenReturnsFalse() {
+            assertFalse(validator.validate(
+                    createJwt(keyPair, null, "OTHER_ISSUER", Instant.now().plus(1, ChronoUnit.HOURS))));
+        }
+
+        @Test
+        @DisplayName("Should reject expired token")
+        void givenExpiredToken_whenValidate_thenReturnsFalse() {
+            assertFalse(validator.validate(createJwt(keyPair, null, ISSUER, Instant.now().minus(1, ChronoUnit.HOURS))));
+        }
+
+        @Test
+        @DisplayName("Should reject token with tampered claims")
+        void givenTamperedToken_whenValidate_thenReturnsFalse() {
+            // Given
+            var token = createToken(keyPair, null, ISSUER, Instant.now().plus(1, ChronoUnit.HOURS));
+            var otherToken = createToken(keyPair, "KEY", ISSUER, Instant.now().plus(1, ChronoUnit.HOURS));
+            var parts = token.split("\\.");
+            var tampered = otherToken.split("\\.")[0] + "." + parts[1] + "." + parts[2];
+
+            // When, Then
+            assertFalse(validator.validate(JWT.decode(tampered)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validate with revocation check")
+    class RevocationCheckTests {
+        @Test
+        @DisplayName("Should check revocation of locally verified token")
+        void givenRevokedToken_whenValidate_thenReturnsFalse() {
+            // Given
+            var validator = new LocalTokenValidator(
+                    JWT.require(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), null)).build(),
+                    revocationValidator);
+            var token = createToken(keyPair, null, ISSUER, Instant.now().plus(1, ChronoUnit.HOURS));
+
+            var jwt = JWT.decode(token);
+
+            // When
+            when(revocationValidator.validate(jwt)).thenReturn(false);
+
+            // Then
+            assertFalse(validator.validate(jwt));
+            verify(revocationValidator, times(1)).validate(jwt);
+        }
+
+        @Test
+        @DisplayName("Should not check revocation of token failing local verification")
+        void givenInvalidToken_whenValidate_thenDoesNotCheckRevocation() {
+            // Given
+            var validator = new LocalTokenValidator(
+                    JWT.require(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), null)).build(),
+                    revocationValidator);
+
+            var token = createToken(otherKeyPair, null, ISSUER, Instant.now().plus(1, ChronoUnit.HOURS));
+
+            // When, Then
+            assertFalse(validator.validate(JWT.decode(token)));
+            verifyNoInteractions(revocationValidator);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validate with key set")
+    class KeySetTests {
+        @Test
+        @DisplayName("Should pick key from key set by key ID")
+        void givenKeySet_whenValidate_thenUsesKeyWithMatchingId() {
+            // Given
+            var jwks = """
+                    {"keys": [%s, %s]}
+                    """.formatted(toJwk("KEY_1", keyPair), toJwk("KEY_2", otherKeyPair));
+            var keyProvider = new JwksKeyProvider(new ByteArrayResource(jwks.getBytes(StandardCharsets.UTF_8)),
+                    new ObjectMapper());
+            var validator = new LocalTokenValidator(JWT.require(Algorithm.RSA256(keyProvider)).build(), null);
+            var expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+            // When, Then
+            assertTrue(validator.validate(createJwt(keyPair, "KEY_1", ISSUER, expiresAt)));
+            assertTrue(validator.validate(createJwt(otherKeyPair, "KEY_2", ISSUER, expiresAt)));
+            assertFalse(validator.validate(createJwt(keyPair, "KEY_2", ISSUER, expiresAt)));
+            assertFalse(validator.validate(createJwt(keyPair, "UNKNOWN", ISSUER, expiresAt)));
+        }
+    }
+
+    private static String createToken(KeyPair keys, String keyId, String issuer, Instant expiresAt) {
+        return JWT.create()
+                .withKeyId(keyId)
+                .withSubject("123")
+                .withClaim("role", "USER")
+                .withIssuer(issuer)
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.RSA256((RSAPublicKey) keys.getPublic(), (RSAPrivateKey) keys.getPrivate()));
+    }
+
+    private static DecodedJWT createJwt(KeyPair keys, String keyId, String issuer, Instant expiresAt) {
+        return JWT.decode(createToken(keys, keyId, issuer, expiresAt));
+    }
+
+    private static String toJwk(String keyId, KeyPair keys) {
+        var publicKey = (RSAPublicKey) keys.getPublic();
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return """
+                {"kty": "RSA", "kid": "%s", "n": "%s", "e": "%s"}
+                """.formatted(keyId,
+                encoder.encodeToString(toUnsignedBytes(publicKey.getModulus().toByteArray())),
+                encoder.encodeToString(toUnsignedBytes(publicKey.getPublicExponent().toByteArray())));
+    }
+
+    private static byte[] toUnsignedBytes(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == 0) {
+            var result = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, result, 0, result.length);
+            return result;
+        }
+        return bytes;
+    }
+}
@@ -1,25 +1,37 @@
 package com.arsiwooqq.orderservice.security;
 
+import com.arsiwooqq.orderservice.cache.OrderOwnershipIndex;
+import com.arsiwooqq.orderservice.dto.OrderBatchCreateRequest;
 import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
 import com.arsiwooqq.orderservice.entity.Order;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
 import com.arsiwooqq.orderservice.exception.AccessDeniedException;
 import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.repository.projection.OrderOwnership;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +39,25 @@ class SecurityServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Spy
+    private OrderOwnershipIndex orderOwnershipIndex = new OrderOwnershipIndex(100);
+
+    @Mock
+    private OrderIdFilter orderIdFilter;
+
     @InjectMocks
     private SecurityService securityService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(orderIdFilter.mightExist(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Nested
     @DisplayName("Ability of creating order")
     class CanCreateOrderTests {
@@ -83,65 +111,96 @@ class SecurityServiceTest {
     }
 
     @Nested
-    @DisplayName("Ability of accessing order")
-    class CanAccessOrderTests {
+    @DisplayName("Ability of creating orders in batch")
+    class CanCreateOrdersTests {
         @Test
-        @DisplayName("Should access order only with the principal's user id")
-        void givenRightId_whenCanAccessOrder_thenReturnTrue() {
+        @DisplayName("Should create orders when all belong to the principal")
+        void givenAllOrdersOfUser_whenCanCreateOrders_thenReturnTrue() {
             // Given
             var userId = UUID.randomUUID().toString();
-            var orderId = UUID.randomUUID();
-            var order = getOrder(userId);
+            var request = new OrderBatchCreateRequest(List.of(
+                    new OrderCreateRequest(userId, new ArrayList<>()),
+                    new OrderCreateRequest(userId, new ArrayList<>())
+            ));
 
             // When
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            var result = securityService.canAccessOrder(userId, orderId);
+            var result = securityService.canCreateOrders(userId, request);
 
             // Then
             assertTrue(result);
         }
 
         @Test
-        @DisplayName("Should throw exception when principal's user id and order's user id differ")
-        void givenDifferentId_whenCanAccessOrder_thenThrowsException() {
+        @DisplayName("Should throw exception when any order belongs to another user")
+        void givenForeignOrder_whenCanCreateOrders_thenThrowsException() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var request = new OrderBatchCreateRequest(List.of(
+                    new OrderCreateRequest(userId, new ArrayList<>()),
+                    new OrderCreateRequest(UUID.randomUUID().toString(), new ArrayList<>())
+            ));
+
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.canCreateOrders(userId, request));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ability of accessing order")
+    class CanAccessOrderTests {
+        @Test
+        @DisplayName("Should access order when it belongs to the principal")
+        void givenOrderBelongsToUser_whenCheckCanAccessOrder_thenDoesNotThrow() {
             // Given
             var userId = UUID.randomUUID().toString();
             var order = getOrder(userId);
+            authenticate(userId, "ROLE_USER");
 
             // When, Then
-            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canAccessOrder(UUID.randomUUID().toString(), order.getId()));
+            assertDoesNotThrow(() -> securityService.checkCanAccessOrder(order));
         }
 
         @Test
-        @DisplayName("Should throw exception when principal's user id is null")
-        void givenNoUserId_whenCanAccessOrder_thenThrowsException() {
-            // Given, When, Then
-            assertThrows(AccessDeniedException.class, 
-                    () -> securityService.canAccessOrder(null, UUID.randomUUID()));
+        @DisplayName("Should throw exception when principal's user id and order's user id differ")
+        void givenDifferentId_whenCheckCanAccessOrder_thenThrowsException() {
+            // Given
+            var order = getOrder(UUID.randomUUID().toString());
+            authenticate(UUID.randomUUID().toString(), "ROLE_USER");
+
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanAccessOrder(order));
         }
 
         @Test
-        @DisplayName("Should throw exception when order id is null")
-        void givenNoOrderId_whenCanAccessOrder_thenThrowsException() {
-            // Given, When, Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canAccessOrder(UUID.randomUUID().toString(), null));
+        @DisplayName("Should throw exception when order does not exist and principal is not admin")
+        void givenNoOrder_whenCheckCanAccessOrder_thenThrowsException() {
+            // Given
+            authenticate(UUID.randomUUID().toString(), "ROLE_USER");
+
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanAccessOrder(null));
         }
 
         @Test
-        @DisplayName("Should throw exception when order does not exist")
-        void givenNotExistingOrderId_whenCanAccessOrder_thenThrowsException() {
+        @DisplayName("Should throw exception when there is no authenticated principal")
+        void givenNoAuthentication_whenCheckCanAccessOrder_thenThrowsException() {
             // Given
-            var orderId = UUID.randomUUID();
+            var order = getOrder(UUID.randomUUID().toString());
 
-            // When
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanAccessOrder(order));
+        }
 
-            // Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canAccessOrder(UUID.randomUUID().toString(), orderId));
+        @Test
+        @DisplayName("Should let admin access any order, existing or not")
+        void givenAdmin_whenCheckCanAccessOrder_thenDoesNotThrow() {
+            // Given
+            var order = getOrder(UUID.randomUUID().toString());
+            authenticate(UUID.randomUUID().toString(), "ROLE_ADMIN");
+
+            // When, Then
+            assertDoesNotThrow(() -> securityService.checkCanAccessOrder(order));
+            assertDoesNotThrow(() -> securityService.checkCanAccessOrder(null));
         }
     }
 
@@ -149,65 +208,61 @@ class SecurityServiceTest {
     @DisplayName("Ability of managing order")
     class CanUpdateOrderTests {
         @Test
-        @DisplayName("Should update order when it belongs to the principal and status is created")
-        void givenOrderBelongsToUserAndStatusIsCreated_whenCanManageOrder_thenReturnTrue() {
+        @DisplayName("Should manage order when it belongs to the principal and status is created")
+        void givenOrderBelongsToUserAndStatusIsCreated_whenCheckCanManageOrder_thenDoesNotThrow() {
             // Given
             var userId = UUID.randomUUID().toString();
             var order = getOrder(userId);
+            authenticate(userId, "ROLE_USER");
 
-            // When
-            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-            var result = securityService.canManageOrder(userId, order.getId());
-
-            // Then
-            assertTrue(result);
+            // When, Then
+            assertDoesNotThrow(() -> securityService.checkCanManageOrder(order));
         }
 
         @Test
         @DisplayName("Should throw exception when order does not belong to the principal")
-        void givenOrderDoesNotBelongToUser_whenCanManageOrder_thenThrowsException() {
+        void givenOrderDoesNotBelongToUser_whenCheckCanManageOrder_thenThrowsException() {
             // Given
-            var userId = UUID.randomUUID().toString();
             var order = getOrder(UUID.randomUUID().toString());
+            authenticate(UUID.randomUUID().toString(), "ROLE_USER");
 
-            // When
-            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-
-            // Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canManageOrder(userId, order.getId()));
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanManageOrder(order));
         }
 
         @Test
         @DisplayName("Should throw exception when order status is not CREATED")
-        void givenOrderStatusIsNotCreated_whenCanManageOrder_thenThrowsException() {
+        void givenOrderStatusIsNotCreated_whenCheckCanManageOrder_thenThrowsException() {
             // Given
             var userId = UUID.randomUUID().toString();
             var order = getOrder(userId);
             order.setStatus(OrderStatus.PAID);
+            authenticate(userId, "ROLE_USER");
 
-            // When
-            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-
-            // Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canManageOrder(userId, order.getId()));
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanManageOrder(order));
         }
 
         @Test
-        @DisplayName("Should throw exception when principal's user id is null")
-        void givenNoUserId_whenCanManageOrder_thenThrowsException() {
-            // Given, When, Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canManageOrder(null, UUID.randomUUID()));
+        @DisplayName("Should throw exception when order does not exist and principal is not admin")
+        void givenNoOrder_whenCheckCanManageOrder_thenThrowsException() {
+            // Given
+            authenticate(UUID.randomUUID().toString(), "ROLE_USER");
+
+            // When, Then
+            assertThrows(AccessDeniedException.class, () -> securityService.checkCanManageOrder(null));
         }
 
         @Test
-        @DisplayName("Should throw exception when order id is null")
-        void givenNoOrderId_whenCanManageOrder_thenThrowsException() {
-            // Given, When, Then
-            assertThrows(AccessDeniedException.class,
-                    () -> securityService.canManageOrder(UUID.randomUUID().toString(), null));
+        @DisplayName("Should let admin manage order in any status")
+        void givenAdmin_whenCheckCanManageOrder_thenDoesNotThrow() {
+            // Given
+            var order = getOrder(UUID.randomUUID().toString());
+            order.setStatus(OrderStatus.PAID);
+            authenticate(UUID.randomUUID().toString(), "ROLE_ADMIN");
+
+            // When, Then
+            assertDoesNotThrow(() -> securityService.checkCanManageOrder(order));
         }
     }
 
@@ -215,40 +270,80 @@ class SecurityServiceTest {
     @DisplayName("Ability of accessing multiple orders")
     class CanAccessOrdersTests {
         @Test
-        @DisplayName("Should access orders when all belong to the principal")
-        void givenAllOrdersBelongToUser_whenCanAccessOrders_thenReturnTrue() {
+        @DisplayName("Should access orders when all belong to the principal and index loaded ownership")
+        void givenAllOrdersBelongToUser_whenCanAccessOrders_thenReturnTrueAndIndexOwnership() {
             // Given
             var userId = UUID.randomUUID().toString();
             var order1 = getOrder(userId);
             var order2 = getOrder(userId);
             var orderIds = List.of(order1.getId(), order2.getId());
-            var orders = List.of(order1, order2);
 
             // When
-            when(orderRepository.findByIdIn(orderIds)).thenReturn(orders);
+            when(orderRepository.findOwnershipByIdIn(orderIds)).thenReturn(List.of(
+                    new OrderOwnership(order1.getId(), userId), new OrderOwnership(order2.getId(), userId)));
             var result = securityService.canAccessOrders(userId, orderIds);
 
             // Then
             assertTrue(result);
+            assertEquals(userId, orderOwnershipIndex.getOwner(order1.getId()));
+            assertEquals(userId, orderOwnershipIndex.getOwner(order2.getId()));
         }
 
         @Test
         @DisplayName("Should return false when some orders don't belong to the principal")
         void givenSomeOrdersDontBelongToUser_whenCanAccessOrders_thenReturnFalse() {
             // Given
-            var order1 = getOrder(UUID.randomUUID().toString());
+            var userId = UUID.randomUUID().toString();
+            var order1 = getOrder(userId);
             var order2 = getOrder(UUID.randomUUID().toString());
             var orderIds = List.of(order1.getId(), order2.getId());
-            var orders = List.of(order1, order2);
 
             // When
-            when(orderRepository.findByIdIn(orderIds)).thenReturn(orders);
-            var result = securityService.canAccessOrders(UUID.randomUUID().toString(), orderIds);
+            when(orderRepository.findOwnershipByIdIn(orderIds)).thenReturn(List.of(
+                    new OrderOwnership(order1.getId(), userId),
+                    new OrderOwnership(order2.getId(), order2.getUserId())));
+            var result = securityService.canAccessOrders(userId, orderIds);
 
             // Then
             assertFalse(result);
         }
 
+        @Test
+        @DisplayName("Should check indexed orders without querying the database")
+        void givenIndexedOrders_whenCanAccessOrders_thenDoesNotQueryRepository() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var order = getOrder(userId);
+            var foreignOrder = getOrder(UUID.randomUUID().toString());
+            orderOwnershipIndex.put(order.getId(), order.getUserId());
+            orderOwnershipIndex.put(foreignOrder.getId(), foreignOrder.getUserId());
+
+            // When
+            var ownResult = securityService.canAccessOrders(userId, List.of(order.getId()));
+            var foreignResult = securityService.canAccessOrders(userId, List.of(order.getId(), foreignOrder.getId()));
+
+            // Then
+            assertTrue(ownResult);
+            assertFalse(foreignResult);
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should not query database for orders rejected by order ID filter")
+        void givenOrdersRejectedByFilter_whenCanAccessOrders_thenDoesNotQueryRepository() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var orderIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+            // When
+            when(orderIdFilter.mightExist(any())).thenReturn(false);
+            var result = securityService.canAccessOrders(userId, orderIds);
+
+            // Then
+            assertTrue(result);
+            verifyNoInteractions(orderRepository);
+        }
+
         @Test
         @DisplayName("Should throw exception when principal's user id is null")
         void givenNoUserId_whenCanAccessOrders_thenThrowsException() {
@@ -266,13 +361,21 @@ class SecurityServiceTest {
         }
     }
 
+    private void authenticate(String userId, String role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
     private Order getOrder(String userId) {
         return new Order(
                 UUID.randomUUID(),
                 userId,
                 OrderStatus.CREATED,
                 LocalDate.now(),
-                new ArrayList<>()
+                0L,
+                0,
+                new ArrayList<>(),
+                null
         );
     }
 }
\ No newline at end of file
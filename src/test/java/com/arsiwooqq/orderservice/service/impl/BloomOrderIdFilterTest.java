@@ -0,0 +1,67 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BloomOrderIdFilterTest {
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("Should report every order as possibly existing before the first build")
+    void givenNotBuiltFilter_whenMightExist_thenReturnsTrue() {
+        // Given
+        var filter = new BloomOrderIdFilter(orderRepository, 100, 0.01);
+
+        // When, Then
+        assertTrue(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown orders after build and accept created ones")
+    void givenBuiltFilter_whenMightExist_thenRejectsUnknownOrders() {
+        // Given
+        var filter = new BloomOrderIdFilter(orderRepository, 100, 0.001);
+        var existingId = UUID.randomUUID();
+        var createdId = UUID.randomUUID();
+
+        // When
+        when(orderRepository.count()).thenReturn(1L);
+        when(orderRepository.streamAllIds()).thenReturn(Stream.of(existingId));
+        filter.rebuild();
+        filter.add(createdId);
+
+        // Then
+        assertTrue(filter.mightExist(existingId));
+        assertTrue(filter.mightExist(createdId));
+        assertFalse(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted orders on rebuild")
+    void givenDeletedOrder_whenRebuild_thenOrderRejected() {
+        // Given
+        var filter = new BloomOrderIdFilter(orderRepository, 100, 0.001);
+        var deletedId = UUID.randomUUID();
+
+        // When
+        when(orderRepository.count()).thenReturn(1L, 0L);
+        when(orderRepository.streamAllIds()).thenReturn(Stream.of(deletedId), Stream.empty());
+        filter.rebuild();
+        filter.rebuild();
+
+        // Then
+        assertFalse(filter.mightExist(deletedId));
+    }
+}
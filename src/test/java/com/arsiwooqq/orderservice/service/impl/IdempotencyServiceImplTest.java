@@ -0,0 +1,170 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.dto.OrderCreateRequest;
+import com.arsiwooqq.orderservice.dto.OrderItemRequest;
+import com.arsiwooqq.orderservice.dto.OrderResponse;
+import com.arsiwooqq.orderservice.entity.IdempotencyRecord;
+import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.exception.IdempotencyKeyReusedException;
+import com.arsiwooqq.orderservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+    private static final UUID ITEM_ID = UUID.fromString("0192b1f4-0000-7000-8000-000000000002");
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, objectMapper,
+                transactionTemplate, 100, Duration.ofHours(1), Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should run the action once and answer retries from memory")
+    void givenRepeatedKey_whenExecute_thenActionRunOnce() {
+        // Given
+        var request = getOrderCreateRequest();
+        var response = getOrderResponse();
+        var calls = new AtomicInteger();
+
+        // When
+        runTransactionsInline();
+        when(idempotencyRecordRepository.findById(any())).thenReturn(Optional.empty());
+
+        var first = idempotencyService.execute("key", request, OrderResponse.class, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        var second = idempotencyService.execute("key", request, OrderResponse.class, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+
+        // Then
+        assertEquals(response, first);
+        assertEquals(response, second);
+        assertEquals(1, calls.get());
+        verify(idempotencyRecordRepository, times(1)).findById(any());
+        verify(idempotencyRecordRepository, times(1)).insertIfAbsentOrExpired(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should return the stored response without running the action")
+    void givenStoredKey_whenExecute_thenStoredResponseReturned() {
+        // Given
+        var request = getOrderCreateRequest();
+        var response = getOrderResponse();
+        var record = storeAndCapture(request, response);
+
+        // When
+        var restarted = new IdempotencyServiceImpl(idempotencyRecordRepository, objectMapper,
+                transactionTemplate, 100, Duration.ofHours(1), Duration.ofSeconds(1));
+        when(idempotencyRecordRepository.findById(record.getId())).thenReturn(Optional.of(record));
+
+        var result = restarted.execute("key", request, OrderResponse.class, () -> {
+            throw new AssertionError("Action must not run");
+        });
+
+        // Then
+        assertEquals(response, result);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void givenKeyReusedWithDifferentRequest_whenExecute_thenThrows() {
+        // Given
+        var response = getOrderResponse();
+
+        // When
+        runTransactionsInline();
+        when(idempotencyRecordRepository.findById(any())).thenReturn(Optional.empty());
+        idempotencyService.execute("key", getOrderCreateRequest(), OrderResponse.class, () -> response);
+
+        // Then
+        var otherRequest = new OrderCreateRequest("other-user", List.of());
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                idempotencyService.execute("key", otherRequest, OrderResponse.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("Should return the response stored concurrently by another instance")
+    void givenConcurrentInsert_whenExecute_thenStoredResponseReturned() {
+        // Given
+        var request = getOrderCreateRequest();
+        var response = getOrderResponse();
+        var record = storeAndCapture(request, response);
+        reset(idempotencyRecordRepository);
+        var service = new IdempotencyServiceImpl(idempotencyRecordRepository, objectMapper,
+                transactionTemplate, 100, Duration.ofHours(1), Duration.ofSeconds(1));
+
+        // When
+        when(idempotencyRecordRepository.findById(record.getId()))
+                .thenReturn(Optional.empty(), Optional.of(record));
+        when(idempotencyRecordRepository.insertIfAbsentOrExpired(any(IdempotencyRecord.class))).thenReturn(0);
+
+        var result = service.execute("key", request, OrderResponse.class, this::getOrderResponse);
+
+        // Then
+        assertEquals(response, result);
+    }
+
+    private IdempotencyRecord storeAndCapture(OrderCreateRequest request, OrderResponse response) {
+        runTransactionsInline();
+        when(idempotencyRecordRepository.findById(any())).thenReturn(Optional.empty());
+        idempotencyService.execute("key", request, OrderResponse.class, () -> response);
+        var captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).insertIfAbsentOrExpired(captor.capture());
+        var record = captor.getValue();
+        assertTrue(record.getExpiresAt().isAfter(Instant.now()));
+        return record;
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(idempotencyRecordRepository.insertIfAbsentOrExpired(any(IdempotencyRecord.class))).thenReturn(1);
+    }
+
+    private OrderCreateRequest getOrderCreateRequest() {
+        return new OrderCreateRequest("user", List.of(new OrderItemRequest(ITEM_ID, 2)));
+    }
+
+    private OrderResponse getOrderResponse() {
+        return new OrderResponse(UUID.fromString("0192b1f4-0000-7000-8000-000000000001"), "user",
+                OrderStatus.CREATED, LocalDate.of(2026, 10, 16), 0L, 0, List.of(), null, null, null);
+    }
+}
@@ -1,9 +1,12 @@
 package com.arsiwooqq.orderservice.service.impl;
 
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
 import com.arsiwooqq.orderservice.dto.ItemCreateRequest;
 import com.arsiwooqq.orderservice.dto.ItemResponse;
 import com.arsiwooqq.orderservice.dto.ItemUpdateRequest;
 import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
+import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
 import com.arsiwooqq.orderservice.exception.ItemNotFoundException;
 import com.arsiwooqq.orderservice.mapper.ItemMapper;
 import com.arsiwooqq.orderservice.repository.ItemRepository;
@@ -34,6 +37,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private OrderResponseCache orderResponseCache;
+
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -179,6 +188,8 @@ class ItemServiceImplTest {
             verify(itemRepository, times(1)).findById(item.getId());
             verify(itemMapper, times(1)).update(request, item);
             verify(itemRepository, times(1)).save(item);
+            verify(orderResponseCache, times(1)).evictAll();
+            verify(orderEventPublisher, times(1)).publishOrderChanged(new OrderChangedEvent(null, null));
             verify(itemMapper, times(1)).toResponse(item);
         }
 
@@ -219,6 +230,8 @@ class ItemServiceImplTest {
             // Then
             verify(itemRepository, times(1)).findById(item.getId());
             verify(itemRepository, times(1)).delete(item);
+            verify(orderResponseCache, times(1)).evictAll();
+            verify(orderEventPublisher, times(1)).publishOrderChanged(new OrderChangedEvent(null, null));
         }
 
         @Test
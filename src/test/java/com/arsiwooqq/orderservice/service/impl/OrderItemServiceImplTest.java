@@ -0,0 +1,99 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.dto.OrderItemRequest;
+import com.arsiwooqq.orderservice.entity.Item;
+import com.arsiwooqq.orderservice.entity.OrderItem;
+import com.arsiwooqq.orderservice.exception.ItemNotFoundException;
+import com.arsiwooqq.orderservice.mapper.OrderItemMapper;
+import com.arsiwooqq.orderservice.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @InjectMocks
+    private OrderItemServiceImpl orderItemService;
+
+    @Nested
+    @DisplayName("Create order items")
+    class CreateAllTests {
+        @Test
+        @DisplayName("Should resolve all items with a single query")
+        void givenRequests_whenCreateAll_thenResolvesItemsOnce() {
+            // Given
+            var item1 = new Item(UUID.randomUUID(), "ITEM_1", 100L);
+            var item2 = new Item(UUID.randomUUID(), "ITEM_2", 200L);
+            var requests = List.of(
+                    new OrderItemRequest(item1.getId(), 1),
+                    new OrderItemRequest(item2.getId(), 2),
+                    new OrderItemRequest(item1.getId(), 3)
+            );
+
+            // When
+            when(itemRepository.findAllById(Set.of(item1.getId(), item2.getId()))).thenReturn(List.of(item2, item1));
+            when(orderItemMapper.toEntity(any())).thenAnswer(invocation -> {
+                OrderItemRequest request = invocation.getArgument(0);
+                var orderItem = new OrderItem();
+                orderItem.setQuantity(request.quantity());
+                return orderItem;
+            });
+
+            var result = orderItemService.createAll(requests);
+
+            // Then
+            assertAll(
+                    () -> assertEquals(3, result.size()),
+                    () -> assertEquals(item1, result.get(0).getItem()),
+                    () -> assertEquals(item2, result.get(1).getItem()),
+                    () -> assertEquals(item1, result.get(2).getItem()),
+                    () -> assertEquals(3, result.get(2).getQuantity()),
+                    () -> assertEquals(200L, result.get(1).getUnitPrice())
+            );
+            verify(itemRepository, times(1)).findAllById(any());
+            verify(itemRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should report all missing items at once")
+        void givenMissingItems_whenCreateAll_thenThrowsExceptionWithAllMissingIds() {
+            // Given
+            var item = new Item(UUID.randomUUID(), "ITEM", 100L);
+            var missingId1 = UUID.randomUUID();
+            var missingId2 = UUID.randomUUID();
+            var requests = List.of(
+                    new OrderItemRequest(item.getId(), 1),
+                    new OrderItemRequest(missingId1, 1),
+                    new OrderItemRequest(missingId2, 1)
+            );
+
+            // When
+            when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+
+            // Then
+            var exception = assertThrows(ItemNotFoundException.class, () -> orderItemService.createAll(requests));
+            assertTrue(exception.getMessage().contains(missingId1.toString()));
+            assertTrue(exception.getMessage().contains(missingId2.toString()));
+            verify(orderItemMapper, never()).toEntity(any());
+        }
+    }
+}
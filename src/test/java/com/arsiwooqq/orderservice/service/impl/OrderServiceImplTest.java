@@ -1,17 +1,28 @@
 package com.arsiwooqq.orderservice.service.impl;
 
+import com.arsiwooqq.orderservice.cache.OrderOwnershipIndex;
+import com.arsiwooqq.orderservice.cache.OrderResponseCache;
 import com.arsiwooqq.orderservice.dto.*;
 import com.arsiwooqq.orderservice.entity.Item;
 import com.arsiwooqq.orderservice.entity.Order;
 import com.arsiwooqq.orderservice.entity.OrderItem;
 import com.arsiwooqq.orderservice.enums.OrderStatus;
+import com.arsiwooqq.orderservice.event.OrderChangedEvent;
 import com.arsiwooqq.orderservice.event.OrderCreatedEvent;
 import com.arsiwooqq.orderservice.event.publisher.OrderEventPublisher;
+import com.arsiwooqq.orderservice.exception.AccessDeniedException;
+import com.arsiwooqq.orderservice.exception.InvalidPageTokenException;
+import com.arsiwooqq.orderservice.exception.ItemNotFoundException;
 import com.arsiwooqq.orderservice.exception.OrderNotFoundException;
 import com.arsiwooqq.orderservice.mapper.OrderMapper;
 import com.arsiwooqq.orderservice.repository.OrderRepository;
+import com.arsiwooqq.orderservice.repository.projection.OrderKey;
+import com.arsiwooqq.orderservice.repository.projection.OrderVersion;
+import com.arsiwooqq.orderservice.security.SecurityService;
+import com.arsiwooqq.orderservice.service.OrderIdFilter;
 import com.arsiwooqq.orderservice.service.OrderItemService;
 import com.arsiwooqq.orderservice.service.UserDataService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -19,10 +30,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,9 +60,26 @@ class OrderServiceImplTest {
     @Mock
     private OrderEventPublisher orderEventPublisher;
 
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private OrderOwnershipIndex orderOwnershipIndex;
+
+    @Mock
+    private OrderIdFilter orderIdFilter;
+
+    @Mock
+    private OrderResponseCache orderResponseCache;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(orderIdFilter.mightExist(any())).thenReturn(true);
+    }
+
     @Nested
     @DisplayName("Create order")
     class CreateOrderTests {
@@ -67,19 +98,18 @@ class OrderServiceImplTest {
             var userData = getUserData(request.userId());
 
             var paymentAmount = order.getOrderItems().stream()
-                    .mapToLong(orderItem -> orderItem.getItem().getPrice() * orderItem.getQuantity())
+                    .mapToLong(orderItem -> orderItem.getUnitPrice() * orderItem.getQuantity())
                     .sum();
             var event = new OrderCreatedEvent(order.getId(), order.getUserId(), paymentAmount);
 
             // When
             when(orderMapper.toEntity(request)).thenReturn(order);
-            when(orderItemService.create(request.orderItems().get(0))).thenReturn(
-                    getOrderItem(orderItem1.itemId(), orderItem1.quantity()));
-            when(orderItemService.create(request.orderItems().get(1))).thenReturn(
-                    getOrderItem(orderItem2.itemId(), orderItem2.quantity()));
+            when(orderItemService.createAll(request.orderItems())).thenReturn(List.of(
+                    getOrderItem(orderItem1.itemId(), orderItem1.quantity()),
+                    getOrderItem(orderItem2.itemId(), orderItem2.quantity())));
             when(userDataService.fetchUserData(request.userId())).thenReturn(userData);
             when(orderRepository.save(order)).thenReturn(order);
-            when(orderMapper.toResponse(order, userData)).thenReturn(getOrderResponse(order));
+            when(orderMapper.toResponse(order, userData, OrderFields.ALL)).thenReturn(getOrderResponse(order));
             when(orderMapper.toOrderCreatedEvent(order, paymentAmount)).thenReturn(event);
 
             var orderResponse = orderService.create(request);
@@ -99,12 +129,66 @@ class OrderServiceImplTest {
             );
 
             verify(orderMapper, times(1)).toEntity(request);
-            verify(orderItemService, times(2)).create(any(OrderItemRequest.class));
+            verify(orderItemService, times(1)).createAll(request.orderItems());
             verify(userDataService, times(1)).fetchUserData(request.userId());
             verify(orderRepository, times(1)).save(order);
-            verify(orderMapper, times(1)).toResponse(order, userData);
+            verify(orderMapper, times(1)).toResponse(order, userData, OrderFields.ALL);
             verify(orderMapper, times(1)).toOrderCreatedEvent(order, paymentAmount);
             verify(orderEventPublisher, times(1)).publishOrderCreated(event);
+            verify(orderOwnershipIndex, times(1)).put(order.getId(), order.getUserId());
+            verify(orderIdFilter, times(1)).add(order.getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Create orders in batch")
+    class CreateAllOrdersTests {
+        @Test
+        @DisplayName("Should save valid orders together and report orders with missing items")
+        void givenBatchWithMissingItem_whenCreateAll_thenSavesValidOrdersAndReportsFailure() {
+            // Given
+            var validRequest = getOrderCreateRequest();
+            var invalidRequest = getOrderCreateRequest();
+            var requests = List.of(invalidRequest, validRequest);
+            var order = getOrder(validRequest);
+            var items = Map.of(
+                    validRequest.orderItems().get(0).itemId(), getItem(validRequest.orderItems().get(0).itemId()),
+                    validRequest.orderItems().get(1).itemId(), getItem(validRequest.orderItems().get(1).itemId())
+            );
+            var orderItems = validRequest.orderItems().stream()
+                    .map(request -> getOrderItem(request.itemId(), request.quantity()))
+                    .toList();
+            var fields = OrderFields.of(OrderFields.ID);
+            var response = new OrderResponse(order.getId(), null, null, null, null, null, null, null, null, fields);
+            var event = new OrderCreatedEvent(order.getId(), order.getUserId(), 400L);
+
+            // When
+            when(orderItemService.getItemsByIds(any())).thenReturn(items);
+            when(orderItemService.createAll(invalidRequest.orderItems(), items))
+                    .thenThrow(new ItemNotFoundException(List.of(invalidRequest.orderItems().get(0).itemId())));
+            when(orderItemService.createAll(validRequest.orderItems(), items)).thenReturn(orderItems);
+            when(orderMapper.toEntity(validRequest)).thenReturn(order);
+            when(orderRepository.saveAll(List.of(order))).thenReturn(List.of(order));
+            when(orderMapper.toOrderCreatedEvent(order, 400L)).thenReturn(event);
+            when(orderMapper.toResponse(order, null, fields)).thenReturn(response);
+
+            var results = orderService.createAll(requests, fields);
+
+            // Then
+            assertAll(
+                    () -> assertEquals(2, results.size()),
+                    () -> assertFalse(results.get(0).success()),
+                    () -> assertTrue(results.get(0).error().contains(
+                            invalidRequest.orderItems().get(0).itemId().toString())),
+                    () -> assertTrue(results.get(1).success()),
+                    () -> assertEquals(1, results.get(1).index()),
+                    () -> assertEquals(response, results.get(1).order())
+            );
+            verify(orderItemService, times(1)).getItemsByIds(any());
+            verify(orderRepository, times(1)).saveAll(List.of(order));
+            verify(orderEventPublisher, times(1)).publishOrdersCreated(List.of(event));
+            verify(orderEventPublisher, never()).publishOrderCreated(any());
+            verify(userDataService, never()).fetchUserDataByIds(any());
         }
     }
 
@@ -119,9 +203,9 @@ class OrderServiceImplTest {
             var userData = getUserData(order.getUserId());
 
             // When
-            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            when(orderRepository.findWithOrderItemsById(order.getId())).thenReturn(Optional.of(order));
             when(userDataService.fetchUserData(order.getUserId())).thenReturn(userData);
-            when(orderMapper.toResponse(order, userData)).thenReturn(getOrderResponse(order));
+            when(orderMapper.toResponse(order, null, OrderFields.ALL)).thenReturn(getOrderResponse(order));
 
             var result = orderService.getById(order.getId());
 
@@ -135,9 +219,92 @@ class OrderServiceImplTest {
                     () -> assertEquals(userData, result.userResponse())
             );
 
-            verify(orderRepository, times(1)).findById(order.getId());
+            verify(orderRepository, times(1)).findWithOrderItemsById(order.getId());
+            verify(securityService, times(1)).checkCanAccessOrder(order);
             verify(userDataService, times(1)).fetchUserData(any(String.class));
-            verify(orderMapper, times(1)).toResponse(any(Order.class), any(UserResponse.class));
+            verify(orderMapper, times(1)).toResponse(any(Order.class), isNull(), eq(OrderFields.ALL));
+            verify(orderResponseCache, times(1)).put(eq(order.getId()), any(OrderResponse.class), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should serve cached order without querying database")
+        void givenCachedOrder_whenGetById_thenReturnsCachedOrder() {
+            // Given
+            var order = createOrderWithItems();
+            var userData = getUserData(order.getUserId());
+            var view = getOrderResponse(order).select(OrderFields.ALL, null);
+
+            // When
+            when(orderResponseCache.get(order.getId())).thenReturn(view);
+            when(userDataService.fetchUserData(order.getUserId())).thenReturn(userData);
+
+            var result = orderService.getById(order.getId());
+
+            // Then
+            assertAll(
+                    () -> assertEquals(order.getId(), result.id()),
+                    () -> assertEquals(order.getStatus(), result.status()),
+                    () -> assertEquals(userData, result.userResponse())
+            );
+
+            verify(securityService, times(1)).checkCanAccessOrderOwnedBy(order.getUserId());
+            verify(orderRepository, never()).findWithOrderItemsById(any());
+            verify(orderMapper, never()).toResponse(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not serve cached order when principal may not access it")
+        void givenCachedForeignOrder_whenGetById_thenThrowsAccessDeniedException() {
+            // Given
+            var order = createOrderWithItems();
+
+            // When
+            when(orderResponseCache.get(order.getId())).thenReturn(getOrderResponse(order));
+            doThrow(new AccessDeniedException("Denied")).when(securityService)
+                    .checkCanAccessOrderOwnedBy(order.getUserId());
+
+            // Then
+            assertThrows(AccessDeniedException.class, () -> orderService.getById(order.getId()));
+
+            verify(userDataService, never()).fetchUserData(any(String.class));
+        }
+
+        @Test
+        @DisplayName("Should not map order when principal may not access it")
+        void givenForeignOrder_whenGetById_thenThrowsAccessDeniedException() {
+            // Given
+            var order = createOrderWithItems();
+
+            // When
+            when(orderRepository.findWithOrderItemsById(order.getId())).thenReturn(Optional.of(order));
+            doThrow(new AccessDeniedException("Denied")).when(securityService).checkCanAccessOrder(order);
+
+            // Then
+            assertThrows(AccessDeniedException.class, () -> orderService.getById(order.getId()));
+
+            verify(orderRepository, times(1)).findWithOrderItemsById(order.getId());
+            verify(userDataService, never()).fetchUserData(any(String.class));
+            verify(orderMapper, never()).toResponse(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not fetch user data when it is not requested")
+        void givenFieldsWithoutUserData_whenGetById_thenDoesNotFetchUserData() {
+            // Given
+            var order = createOrderWithItems();
+            var fields = OrderFields.of(OrderFields.ID, OrderFields.STATUS);
+            var response = new OrderResponse(order.getId(), null, order.getStatus(), null, null, null, null, null,
+                    OrderRevision.of(order), fields);
+
+            // When
+            when(orderRepository.findWithOrderItemsById(order.getId())).thenReturn(Optional.of(order));
+            when(orderMapper.toResponse(order, null, OrderFields.ALL)).thenReturn(getOrderResponse(order));
+
+            var result = orderService.getById(order.getId(), fields);
+
+            // Then
+            assertEquals(response, result);
+            verify(userDataService, never()).fetchUserData(any());
         }
 
         @Test
@@ -147,14 +314,89 @@ class OrderServiceImplTest {
             var id = UUID.randomUUID();
 
             // When
-            when(orderRepository.findById(id)).thenReturn(Optional.empty());
+            when(orderRepository.findWithOrderItemsById(id)).thenReturn(Optional.empty());
 
             // Then
             assertThrows(OrderNotFoundException.class, () -> orderService.getById(id));
 
-            verify(orderRepository, times(1)).findById(id);
+            verify(orderRepository, times(1)).findWithOrderItemsById(id);
             verify(userDataService, never()).fetchUserData(any(String.class));
-            verify(orderMapper, never()).toResponse(any(Order.class), any(UserResponse.class));
+            verify(orderMapper, never()).toResponse(any(Order.class), any(UserResponse.class), eq(OrderFields.ALL));
+        }
+
+        @Test
+        @DisplayName("Should not query database when order ID filter rejects the ID")
+        void givenIdRejectedByFilter_whenGetById_thenThrowsExceptionWithoutQuery() {
+            // Given
+            var id = UUID.randomUUID();
+
+            // When
+            when(orderIdFilter.mightExist(id)).thenReturn(false);
+
+            // Then
+            assertThrows(OrderNotFoundException.class, () -> orderService.getById(id));
+
+            verify(securityService, times(1)).checkCanAccessOrder(null);
+            verify(orderRepository, never()).findWithOrderItemsById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get order revision")
+    class GetRevisionTests {
+        @Test
+        @DisplayName("Should return revision without loading order")
+        void givenId_whenGetRevision_thenReturnsRevision() {
+            // Given
+            var order = createOrderWithItems();
+            var itemsUpdatedAt = Instant.parse("2026-10-16T10:00:00Z");
+
+            // When
+            when(orderRepository.findVersionById(order.getId()))
+                    .thenReturn(Optional.of(new OrderVersion(order.getUserId(), 3L, itemsUpdatedAt)));
+
+            var result = orderService.getRevision(order.getId());
+
+            // Then
+            assertEquals(new OrderRevision(3L, itemsUpdatedAt), result);
+            verify(securityService, times(1)).checkCanAccessOrderOwnedBy(order.getUserId());
+            verify(orderRepository, never()).findById(any());
+            verify(orderMapper, never()).toResponse(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return revision of cached order without querying database")
+        void givenCachedOrder_whenGetRevision_thenReturnsCachedRevision() {
+            // Given
+            var order = createOrderWithItems();
+            var revision = new OrderRevision(5L, null);
+            var view = new OrderResponse(order.getId(), order.getUserId(), order.getStatus(), null, null, null,
+                    null, null, revision, OrderFields.ALL);
+
+            // When
+            when(orderResponseCache.get(order.getId())).thenReturn(view);
+
+            var result = orderService.getRevision(order.getId());
+
+            // Then
+            assertEquals(revision, result);
+            verify(securityService, times(1)).checkCanAccessOrderOwnedBy(order.getUserId());
+            verify(orderRepository, never()).findVersionById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw OrderNotFoundException when order not found")
+        void givenNotExistingId_whenGetRevision_thenThrowsException() {
+            // Given
+            var id = UUID.randomUUID();
+
+            // When
+            when(orderRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+            // Then
+            assertThrows(OrderNotFoundException.class, () -> orderService.getRevision(id));
+
+            verify(securityService, times(1)).checkCanAccessOrderOwnedBy(null);
         }
     }
 
@@ -174,10 +416,10 @@ class OrderServiceImplTest {
 
             // When
             when(orderRepository.findByIdIn(request)).thenReturn(List.of(order1, order2));
-            when(userDataService.fetchUserData(order1.getUserId())).thenReturn(userData1);
-            when(userDataService.fetchUserData(order2.getUserId())).thenReturn(userData2);
-            when(orderMapper.toResponse(order1, userData1)).thenReturn(getOrderResponse(order1));
-            when(orderMapper.toResponse(order2, userData2)).thenReturn(getOrderResponse(order2));
+            when(userDataService.fetchUserDataByIds(List.of(order1.getUserId(), order2.getUserId())))
+                    .thenReturn(Map.of(order1.getUserId(), userData1, order2.getUserId(), userData2));
+            when(orderMapper.toResponse(order1, userData1, OrderFields.ALL)).thenReturn(getOrderResponse(order1));
+            when(orderMapper.toResponse(order2, userData2, OrderFields.ALL)).thenReturn(getOrderResponse(order2));
 
             var result = orderService.getAllByIds(request);
 
@@ -201,8 +443,9 @@ class OrderServiceImplTest {
             );
 
             verify(orderRepository, times(1)).findByIdIn(request);
-            verify(userDataService, times(2)).fetchUserData(any(String.class));
-            verify(orderMapper, times(2)).toResponse(any(Order.class), any(UserResponse.class));
+            verify(userDataService, times(1)).fetchUserDataByIds(anyCollection());
+            verify(userDataService, never()).fetchUserData(any());
+            verify(orderMapper, times(2)).toResponse(any(Order.class), any(UserResponse.class), eq(OrderFields.ALL));
         }
 
         @Test
@@ -218,77 +461,147 @@ class OrderServiceImplTest {
             assertTrue(orderService.getAllByIds(request).isEmpty());
 
             verify(orderRepository, times(1)).findByIdIn(request);
-            verify(userDataService, never()).fetchUserData(any());
-            verify(orderMapper, never()).toResponse(any(), any());
+            verify(userDataService, never()).fetchUserDataByIds(anyCollection());
+            verify(orderMapper, never()).toResponse(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fetch user data once per distinct user")
+        void givenOrdersOfSameUser_whenGetAllByIds_thenFetchesUserDataOnce() {
+            // Given
+            var order1 = createOrderWithItems();
+            var order2 = createOrderWithItems();
+            order2.setUserId(order1.getUserId());
+            var userData = getUserData(order1.getUserId());
+
+            var request = List.of(order1.getId(), order2.getId());
+
+            // When
+            when(orderRepository.findByIdIn(request)).thenReturn(List.of(order1, order2));
+            when(userDataService.fetchUserDataByIds(anyCollection()))
+                    .thenReturn(Map.of(order1.getUserId(), userData));
+            when(orderMapper.toResponse(order1, userData, OrderFields.ALL)).thenReturn(getOrderResponse(order1));
+            when(orderMapper.toResponse(order2, userData, OrderFields.ALL)).thenReturn(getOrderResponse(order2));
+
+            var result = orderService.getAllByIds(request);
+
+            // Then
+            assertEquals(2, result.size());
+
+            verify(userDataService, times(1)).fetchUserDataByIds(anyCollection());
+            verify(orderMapper, times(2)).toResponse(any(Order.class), eq(userData), eq(OrderFields.ALL));
         }
     }
 
     @Nested
-    @DisplayName("Get all orders by statuses")
-    class GetALlByStatusesTests {
+    @DisplayName("Get page of orders by statuses")
+    class GetPageByStatusesTests {
         @Test
-        @DisplayName("Should return all orders by statuses")
-        void givenStatuses_whenGetAllByStatuses_thenReturnOrders() {
+        @DisplayName("Should return first page of orders by statuses with a token for the next page")
+        void givenMoreOrdersThanPageSize_whenGetPageByStatuses_thenReturnsPageWithToken() {
             // Given
             var order1 = createOrderWithItems();
             var order2 = createOrderWithItems();
+            var order3 = createOrderWithItems();
             var userData1 = getUserData(order1.getUserId());
             var userData2 = getUserData(order2.getUserId());
 
             var request = List.of(OrderStatus.CREATED.toString(), OrderStatus.CANCELED.toString());
-
-            var orders = List.of(order1, order2);
+            var statuses = List.of(OrderStatus.CREATED, OrderStatus.CANCELED);
 
             // When
-            when(orderRepository.findByStatusIn(any())).thenReturn(orders);
-            when(userDataService.fetchUserData(order1.getUserId())).thenReturn(userData1);
-            when(userDataService.fetchUserData(order2.getUserId())).thenReturn(userData2);
-            when(orderMapper.toResponse(order1, userData1)).thenReturn(getOrderResponse(order1));
-            when(orderMapper.toResponse(order2, userData2)).thenReturn(getOrderResponse(order2));
+            when(orderRepository.findFirstKeysByStatusIn(eq(statuses), limitOf(3)))
+                    .thenReturn(List.of(getOrderKey(order1), getOrderKey(order2), getOrderKey(order3)));
+            when(orderRepository.findByIdIn(List.of(order1.getId(), order2.getId())))
+                    .thenReturn(List.of(order2, order1));
+            when(userDataService.fetchUserDataByIds(List.of(order1.getUserId(), order2.getUserId())))
+                    .thenReturn(Map.of(order1.getUserId(), userData1, order2.getUserId(), userData2));
+            when(orderMapper.toResponse(order1, userData1, OrderFields.ALL)).thenReturn(getOrderResponse(order1));
+            when(orderMapper.toResponse(order2, userData2, OrderFields.ALL)).thenReturn(getOrderResponse(order2));
 
-            var result = orderService.getAllByStatuses(request);
+            var result = orderService.getPageByStatuses(request, null, 2);
 
             // Then
             assertAll(
-                    () -> assertEquals(orders.size(), result.size()),
-                    () -> assertEquals(order1.getId(), result.get(0).id()),
-                    () -> assertEquals(order1.getUserId(), result.get(0).userId()),
-                    () -> assertEquals(order1.getStatus(), result.get(0).status()),
-                    () -> assertEquals(order1.getCreationDate(), result.get(0).creationDate()),
-                    () -> assertEquals(order1.getOrderItems().get(0).getItem(),
-                            result.get(0).orderItems().get(0).item()),
-                    () -> assertEquals(userData1, result.get(0).userResponse()),
-                    () -> assertEquals(order2.getId(), result.get(1).id()),
-                    () -> assertEquals(order2.getUserId(), result.get(1).userId()),
-                    () -> assertEquals(order2.getStatus(), result.get(1).status()),
-                    () -> assertEquals(order2.getCreationDate(), result.get(1).creationDate()),
-                    () -> assertEquals(order2.getOrderItems().get(0).getItem(),
-                            result.get(1).orderItems().get(0).item()),
-                    () -> assertEquals(userData2, result.get(1).userResponse())
+                    () -> assertEquals(2, result.orders().size()),
+                    () -> assertEquals(order1.getId(), result.orders().get(0).id()),
+                    () -> assertEquals(userData1, result.orders().get(0).userResponse()),
+                    () -> assertEquals(order2.getId(), result.orders().get(1).id()),
+                    () -> assertEquals(userData2, result.orders().get(1).userResponse()),
+                    () -> assertNotNull(result.nextPageToken())
             );
 
-            verify(orderRepository, times(1)).findByStatusIn(any());
-            verify(userDataService, times(2)).fetchUserData(any(String.class));
-            verify(orderMapper, times(2)).toResponse(any(Order.class), any(UserResponse.class));
+            verify(orderRepository, times(1)).findFirstKeysByStatusIn(eq(statuses), limitOf(3));
+            verify(userDataService, times(1)).fetchUserDataByIds(anyCollection());
+            verify(userDataService, never()).fetchUserData(any());
         }
 
         @Test
-        @DisplayName("Should return empty list when no orders found")
-        void givenNoOrders_whenGetAllByStatuses_thenReturnEmptyList() {
+        @DisplayName("Should continue after the last order of the previous page")
+        void givenPageToken_whenGetPageByStatuses_thenReturnsOrdersAfterToken() {
+            // Given
+            var order1 = createOrderWithItems();
+            var order2 = createOrderWithItems();
+            var order3 = createOrderWithItems();
+            var fields = OrderFields.of(OrderFields.ID);
+            var request = List.of(OrderStatus.CREATED.toString());
+            var statuses = List.of(OrderStatus.CREATED);
+
+            // When
+            when(orderRepository.findFirstKeysByStatusIn(eq(statuses), limitOf(2)))
+                    .thenReturn(List.of(getOrderKey(order1), getOrderKey(order2)));
+            when(orderRepository.findByIdIn(List.of(order1.getId()))).thenReturn(List.of(order1));
+            when(orderRepository.findKeysByStatusInAfter(eq(statuses), eq(order1.getStatus()),
+                    eq(order1.getCreationDate()), eq(order1.getId()), limitOf(2)))
+                    .thenReturn(List.of(getOrderKey(order2), getOrderKey(order3)));
+            when(orderRepository.findByIdIn(List.of(order2.getId()))).thenReturn(List.of(order2));
+            when(orderMapper.toResponse(any(Order.class), isNull(), eq(fields))).thenAnswer(invocation ->
+                    new OrderResponse(invocation.<Order>getArgument(0).getId(),
+                            null, null, null, null, null, null, null, null, fields));
+
+            var firstPage = orderService.getPageByStatuses(request, null, 1, fields);
+            var secondPage = orderService.getPageByStatuses(request, firstPage.nextPageToken(), 1, fields);
+
+            // Then
+            assertAll(
+                    () -> assertEquals(order1.getId(), firstPage.orders().get(0).id()),
+                    () -> assertEquals(order2.getId(), secondPage.orders().get(0).id()),
+                    () -> assertNotNull(secondPage.nextPageToken())
+            );
+            verify(userDataService, never()).fetchUserDataByIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should return empty last page when no orders found")
+        void givenNoOrders_whenGetPageByStatuses_thenReturnEmptyPage() {
             // Given
             var request = List.of(OrderStatus.CREATED.toString(), OrderStatus.CANCELED.toString());
 
             // When
-            when(orderRepository.findByStatusIn(any())).thenReturn(List.of());
+            when(orderRepository.findFirstKeysByStatusIn(any(), any())).thenReturn(List.of());
 
-            var result = orderService.getAllByStatuses(request);
+            var result = orderService.getPageByStatuses(request, null, 10);
 
             // Then
-            assertTrue(result.isEmpty());
+            assertTrue(result.orders().isEmpty());
+            assertNull(result.nextPageToken());
 
-            verify(orderRepository, times(1)).findByStatusIn(any());
-            verify(userDataService, never()).fetchUserData(any());
-            verify(orderMapper, never()).toResponse(any(), any());
+            verify(orderRepository, never()).findByIdIn(any());
+            verify(userDataService, never()).fetchUserDataByIds(anyCollection());
+            verify(orderMapper, never()).toResponse(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidPageTokenException when page token is malformed")
+        void givenMalformedPageToken_whenGetPageByStatuses_thenThrowInvalidPageTokenException() {
+            // Given
+            var request = List.of(OrderStatus.CREATED.toString());
+
+            // Then
+            assertThrows(InvalidPageTokenException.class,
+                    () -> orderService.getPageByStatuses(request, "not-a-token", 10));
+
+            verify(orderRepository, never()).findKeysByStatusInAfter(any(), any(), any(), any(), any());
         }
     }
 
@@ -311,17 +624,17 @@ class OrderServiceImplTest {
             var updatedOrderItem2 = getOrderItem(orderItemRequest2.itemId(), orderItemRequest2.quantity());
 
             var updatedOrder = new Order(order.getId(), order.getUserId(), order.getStatus(), order.getCreationDate(),
-                    new ArrayList<>());
+                    0L, 0, new ArrayList<>(), 2L);
             updatedOrder.addOrderItem(updatedOrderItem1);
             updatedOrder.addOrderItem(updatedOrderItem2);
 
             // When
             when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-            when(orderItemService.create(orderItemRequest1)).thenReturn(updatedOrderItem1);
-            when(orderItemService.create(orderItemRequest2)).thenReturn(updatedOrderItem2);
-            when(orderRepository.save(any())).thenReturn(updatedOrder);
+            when(orderItemService.createAll(request.orderItems()))
+                    .thenReturn(List.of(updatedOrderItem1, updatedOrderItem2));
+            when(orderRepository.saveAndFlush(any())).thenReturn(updatedOrder);
             when(userDataService.fetchUserData(updatedOrder.getUserId())).thenReturn(userData);
-            when(orderMapper.toResponse(updatedOrder, userData)).thenReturn(getOrderResponse(updatedOrder));
+            when(orderMapper.toResponse(updatedOrder, userData, OrderFields.ALL)).thenReturn(getOrderResponse(updatedOrder));
 
             var result = orderService.update(order.getId(), request);
 
@@ -336,10 +649,12 @@ class OrderServiceImplTest {
             );
 
             verify(orderRepository, times(1)).findById(order.getId());
-            verify(orderRepository, times(1)).save(order);
-            verify(orderItemService, times(2)).create(any());
+            verify(orderRepository, times(1)).saveAndFlush(order);
+            verify(orderResponseCache, times(1)).evict(order.getId(), 2L);
+            verify(orderEventPublisher, times(1)).publishOrderChanged(new OrderChangedEvent(order.getId(), 2L));
+            verify(orderItemService, times(1)).createAll(any());
             verify(userDataService, times(1)).fetchUserData(any());
-            verify(orderMapper, times(1)).toResponse(any(), any());
+            verify(orderMapper, times(1)).toResponse(any(), any(), any());
         }
 
         @Test
@@ -357,10 +672,10 @@ class OrderServiceImplTest {
             assertThrows(OrderNotFoundException.class, () -> orderService.update(order.getId(), request));
 
             verify(orderRepository, times(1)).findById(order.getId());
-            verify(orderRepository, never()).save(order);
-            verify(orderItemService, never()).create(any());
+            verify(orderRepository, never()).saveAndFlush(order);
+            verify(orderItemService, never()).createAll(any());
             verify(userDataService, never()).fetchUserData(any());
-            verify(orderMapper, never()).toResponse(any(), any());
+            verify(orderMapper, never()).toResponse(any(), any(), any());
         }
     }
 
@@ -374,12 +689,13 @@ class OrderServiceImplTest {
             var order = createOrderWithItems();
             var userData = getUserData(order.getUserId());
             var request = new ChangeOrderStatusRequest(OrderStatus.DELIVERED);
+            order.setVersion(2L);
 
             // When
             when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
             when(userDataService.fetchUserData(order.getUserId())).thenReturn(userData);
-            when(orderRepository.save(order)).thenReturn(order);
-            when(orderMapper.toResponse(order, userData)).thenReturn(getOrderResponse(order));
+            when(orderRepository.saveAndFlush(order)).thenReturn(order);
+            when(orderMapper.toResponse(order, userData, OrderFields.ALL)).thenReturn(getOrderResponse(order));
 
             var result = orderService.changeStatus(order.getId(), request);
 
@@ -392,9 +708,11 @@ class OrderServiceImplTest {
             );
 
             verify(orderRepository, times(1)).findById(order.getId());
-            verify(orderRepository, times(1)).save(order);
+            verify(orderRepository, times(1)).saveAndFlush(order);
+            verify(orderResponseCache, times(1)).evict(order.getId(), 2L);
+            verify(orderEventPublisher, times(1)).publishOrderChanged(new OrderChangedEvent(order.getId(), 2L));
             verify(userDataService, times(1)).fetchUserData(order.getUserId());
-            verify(orderMapper, times(1)).toResponse(order, userData);
+            verify(orderMapper, times(1)).toResponse(order, userData, OrderFields.ALL);
         }
 
         @Test
@@ -428,7 +746,11 @@ class OrderServiceImplTest {
             orderService.delete(order.getId());
 
             verify(orderRepository, times(1)).findById(order.getId());
+            verify(securityService, times(1)).checkCanManageOrder(order);
             verify(orderRepository, times(1)).delete(order);
+            verify(orderResponseCache, times(1)).evict(order.getId(), OrderResponseCache.DELETED);
+            verify(orderEventPublisher, times(1)).publishOrderChanged(new OrderChangedEvent(order.getId(), null));
+            verify(orderOwnershipIndex, times(1)).remove(order.getId());
         }
 
         @Test
@@ -496,10 +818,21 @@ class OrderServiceImplTest {
                 request.userId(),
                 OrderStatus.CREATED,
                 LocalDate.now(),
-                new ArrayList<>()
+                0L,
+                0,
+                new ArrayList<>(),
+                null
         );
     }
 
+    private Limit limitOf(int max) {
+        return argThat(limit -> limit.max() == max);
+    }
+
+    private OrderKey getOrderKey(Order order) {
+        return new OrderKey(order.getId(), order.getStatus(), order.getCreationDate());
+    }
+
     private Item getItem(UUID id) {
         return new Item(
                 id,
@@ -513,6 +846,7 @@ class OrderServiceImplTest {
         orderItem.setId(UUID.randomUUID());
         orderItem.setQuantity(quantity);
         orderItem.setItem(getItem(itemId));
+        orderItem.setUnitPrice(orderItem.getItem().getPrice());
         return orderItem;
     }
 
@@ -532,14 +866,19 @@ class OrderServiceImplTest {
                 order.getUserId(),
                 order.getStatus(),
                 order.getCreationDate(),
+                order.getTotalAmount(),
+                order.getItemCount(),
                 order.getOrderItems()
                         .stream()
                         .map(orderItem -> new OrderItemResponse(
                                 orderItem.getItem(),
-                                orderItem.getQuantity()
+                                orderItem.getQuantity(),
+                                orderItem.getUnitPrice()
                         ))
                         .toList(),
-                getUserData(order.getUserId())
+                getUserData(order.getUserId()),
+                OrderRevision.of(order),
+                OrderFields.ALL
         );
     }
 }
@@ -0,0 +1,167 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.dto.UserResponse;
+import com.arsiwooqq.orderservice.entity.UserProjection;
+import com.arsiwooqq.orderservice.enums.UserChangeType;
+import com.arsiwooqq.orderservice.event.UserChangedEvent;
+import com.arsiwooqq.orderservice.exception.NotRetryableException;
+import com.arsiwooqq.orderservice.mapper.UserProjectionMapper;
+import com.arsiwooqq.orderservice.repository.UserProjectionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionUserDataServiceImplTest {
+    @Mock
+    private UserProjectionRepository userProjectionRepository;
+
+    @Mock
+    private UserProjectionMapper userProjectionMapper;
+
+    @InjectMocks
+    private ProjectionUserDataServiceImpl userDataService;
+
+    @Nested
+    @DisplayName("Fetch user data by ids")
+    class FetchUserDataByIdsTests {
+        @Test
+        @DisplayName("Should read every distinct user from projection in one query")
+        void givenDuplicateUserIds_whenFetchUserDataByIds_thenQueriesProjectionOnce() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var userProjection = getUserProjection(userId, Instant.now());
+            var userData = getUserData(userId);
+
+            // When
+            when(userProjectionRepository.findByUserIdInAndDeletedFalse(Set.of(userId)))
+                    .thenReturn(List.of(userProjection));
+            when(userProjectionMapper.toResponse(userProjection)).thenReturn(userData);
+
+            var result = userDataService.fetchUserDataByIds(List.of(userId, userId));
+
+            // Then
+            assertEquals(Map.of(userId, userData), result);
+            verify(userProjectionRepository, times(1)).findByUserIdInAndDeletedFalse(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Apply user changed event")
+    class ApplyTests {
+        @Test
+        @DisplayName("Should save new user to projection")
+        void givenCreatedEvent_whenApply_thenSavesProjection() {
+            // Given
+            var event = getEvent(UUID.randomUUID().toString(), UserChangeType.CREATED, Instant.now());
+
+            // When
+            when(userProjectionRepository.findById(event.userId())).thenReturn(Optional.empty());
+
+            userDataService.apply(event);
+
+            // Then
+            verify(userProjectionMapper, times(1)).update(eq(event), any(UserProjection.class));
+            verify(userProjectionRepository, times(1)).save(any(UserProjection.class));
+        }
+
+        @Test
+        @DisplayName("Should ignore event older than stored user")
+        void givenOutdatedEvent_whenApply_thenIgnoresIt() {
+            // Given
+            var now = Instant.now();
+            var userId = UUID.randomUUID().toString();
+            var event = getEvent(userId, UserChangeType.UPDATED, now.minusSeconds(60));
+
+            // When
+            when(userProjectionRepository.findById(userId)).thenReturn(Optional.of(getUserProjection(userId, now)));
+
+            userDataService.apply(event);
+
+            // Then
+            verify(userProjectionMapper, never()).update(any(), any());
+            verify(userProjectionRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should replace deleted user with tombstone")
+        void givenDeletedEvent_whenApply_thenSavesTombstone() {
+            // Given
+            var now = Instant.now();
+            var userId = UUID.randomUUID().toString();
+            var userProjection = getUserProjection(userId, now.minusSeconds(60));
+            var event = getEvent(userId, UserChangeType.DELETED, now);
+
+            // When
+            when(userProjectionRepository.findById(userId)).thenReturn(Optional.of(userProjection));
+
+            userDataService.apply(event);
+
+            // Then
+            verify(userProjectionRepository, never()).delete(any());
+            verify(userProjectionRepository, times(1)).save(argThat(tombstone -> tombstone.isDeleted()
+                    && userId.equals(tombstone.getUserId())
+                    && tombstone.getName() == null
+                    && now.equals(tombstone.getUpdatedAt())));
+        }
+
+        @Test
+        @DisplayName("Should ignore event older than user deletion")
+        void givenOutdatedEventForDeletedUser_whenApply_thenIgnoresIt() {
+            // Given
+            var now = Instant.now();
+            var userId = UUID.randomUUID().toString();
+            var tombstone = new UserProjection(userId, null, null, null, null, now, true);
+            var event = getEvent(userId, UserChangeType.UPDATED, now.minusSeconds(60));
+
+            // When
+            when(userProjectionRepository.findById(userId)).thenReturn(Optional.of(tombstone));
+
+            userDataService.apply(event);
+
+            // Then
+            verify(userProjectionMapper, never()).update(any(), any());
+            verify(userProjectionRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should throw NotRetryableException when event has no user ID")
+        void givenEventWithoutUserId_whenApply_thenThrowsException() {
+            // Given
+            var event = getEvent(null, UserChangeType.UPDATED, Instant.now());
+
+            // When, Then
+            assertThrows(NotRetryableException.class, () -> userDataService.apply(event));
+            verifyNoInteractions(userProjectionRepository);
+        }
+    }
+
+    private UserChangedEvent getEvent(String userId, UserChangeType type, Instant occurredAt) {
+        return new UserChangedEvent(userId, type, "TEST_NAME", "TEST_SURNAME", LocalDate.of(2000, 1, 1),
+                "TEST@EMAIL", occurredAt);
+    }
+
+    private UserProjection getUserProjection(String userId, Instant updatedAt) {
+        return new UserProjection(userId, "TEST_NAME", "TEST_SURNAME", LocalDate.of(2000, 1, 1),
+                "TEST@EMAIL", updatedAt, false);
+    }
+
+    private UserResponse getUserData(String userId) {
+        return new UserResponse(userId, "TEST_NAME", "TEST_SURNAME", LocalDate.of(2000, 1, 1), "TEST@EMAIL");
+    }
+}
@@ -0,0 +1,339 @@
+package com.arsiwooqq.orderservice.service.impl;
+
+import com.arsiwooqq.orderservice.cache.UserDataCache;
+import com.arsiwooqq.orderservice.client.UserServiceClient;
+import com.arsiwooqq.orderservice.config.UserDataExecutor;
+import com.arsiwooqq.orderservice.dto.ApiResponse;
+import com.arsiwooqq.orderservice.dto.UserResponse;
+import com.arsiwooqq.orderservice.security.JwtContextHolder;
+import com.arsiwooqq.orderservice.security.JwtPrincipal;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDataServiceImplTest {
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private UserDataCache userDataCache;
+
+    private UserDataExecutor userDataExecutor;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private UserDataServiceImpl userDataService;
+
+    @BeforeEach
+    void setUp() {
+        userDataCache = new UserDataCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofHours(1));
+        userDataExecutor = new UserDataExecutor(Executors.newFixedThreadPool(16));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        userDataService = new UserDataServiceImpl(userServiceClient, userDataCache, userDataExecutor,
+                circuitBreakerRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userDataExecutor.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Fetch user data")
+    class FetchUserDataTests {
+        @Test
+        @DisplayName("Should fetch user data from user service once and then serve it from cache")
+        void givenUserId_whenFetchUserDataTwice_thenCallsUserServiceOnce() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var userData = getUserData(userId);
+
+            // When
+            when(userServiceClient.getById(userId)).thenReturn(ApiResponse.success("User fetched", userData));
+
+            var first = userDataService.fetchUserData(userId);
+            var second = userDataService.fetchUserData(userId);
+
+            // Then
+            assertEquals(userData, first);
+            assertEquals(userData, second);
+            verify(userServiceClient, times(1)).getById(userId);
+        }
+
+        @Test
+        @DisplayName("Should cache unknown user")
+        void givenUnknownUserId_whenFetchUserDataTwice_thenCallsUserServiceOnce() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+
+            // When
+            when(userServiceClient.getById(userId)).thenThrow(getNotFoundException());
+
+            var first = userDataService.fetchUserData(userId);
+            var second = userDataService.fetchUserData(userId);
+
+            // Then
+            assertNull(first);
+            assertNull(second);
+            verify(userServiceClient, times(1)).getById(userId);
+        }
+
+        @Test
+        @DisplayName("Should not cache failed response")
+        void givenUnavailableUserService_whenFetchUserDataTwice_thenCallsUserServiceTwice() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+
+            // When
+            when(userServiceClient.getById(userId)).thenReturn(ApiResponse.error("User service is not available"));
+
+            userDataService.fetchUserData(userId);
+            var result = userDataService.fetchUserData(userId);
+
+            // Then
+            assertNull(result);
+            verify(userServiceClient, times(2)).getById(userId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fetch user data by ids")
+    class FetchUserDataByIdsTests {
+        @Test
+        @DisplayName("Should fetch every distinct user once")
+        void givenDuplicateUserIds_whenFetchUserDataByIds_thenFetchesEachUserOnce() {
+            // Given
+            var userId1 = UUID.randomUUID().toString();
+            var userId2 = UUID.randomUUID().toString();
+
+            // When
+            when(userServiceClient.getById(userId1))
+                    .thenReturn(ApiResponse.success("User fetched", getUserData(userId1)));
+            when(userServiceClient.getById(userId2))
+                    .thenReturn(ApiResponse.success("User fetched", getUserData(userId2)));
+
+            var result = userDataService.fetchUserDataByIds(List.of(userId1, userId2, userId1, userId2));
+
+            // Then
+            assertEquals(Map.of(userId1, getUserData(userId1), userId2, getUserData(userId2)), result);
+            verify(userServiceClient, times(1)).getById(userId1);
+            verify(userServiceClient, times(1)).getById(userId2);
+        }
+
+        @Test
+        @DisplayName("Should use bulk endpoint when enabled and request only users missing in cache")
+        void givenBulkFetchEnabled_whenFetchUserDataByIds_thenUsesBulkEndpoint() {
+            // Given
+            ReflectionTestUtils.setField(userDataService, "bulkFetchEnabled", true);
+            ReflectionTestUtils.setField(userDataService, "bulkFetchBatchSize", 100);
+            var cachedUserId = UUID.randomUUID().toString();
+            var userId = UUID.randomUUID().toString();
+            var unknownUserId = UUID.randomUUID().toString();
+            userDataCache.put(cachedUserId, getUserData(cachedUserId));
+
+            // When
+            when(userServiceClient.getByIds(List.of(userId, unknownUserId)))
+                    .thenReturn(ApiResponse.success("Users fetched", List.of(getUserData(userId))));
+
+            var result = userDataService.fetchUserDataByIds(List.of(cachedUserId, userId, unknownUserId));
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals(getUserData(cachedUserId), result.get(cachedUserId));
+            assertEquals(getUserData(userId), result.get(userId));
+            assertTrue(userDataCache.get(unknownUserId).isUnknown());
+            verify(userServiceClient, never()).getById(any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to per-user requests when bulk endpoint fails")
+        void givenBulkEndpointFails_whenFetchUserDataByIds_thenFetchesUsersOneByOne() {
+            // Given
+            ReflectionTestUtils.setField(userDataService, "bulkFetchEnabled", true);
+            ReflectionTestUtils.setField(userDataService, "bulkFetchBatchSize", 100);
+            var userId = UUID.randomUUID().toString();
+
+            // When
+            when(userServiceClient.getByIds(List.of(userId))).thenReturn(ApiResponse.error("Not available"));
+            when(userServiceClient.getById(userId)).thenReturn(ApiResponse.success("User fetched", getUserData(userId)));
+
+            var result = userDataService.fetchUserDataByIds(List.of(userId));
+
+            // Then
+            assertEquals(getUserData(userId), result.get(userId));
+            verify(userServiceClient, times(1)).getById(userId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fetch user data concurrently")
+    class ConcurrentFetchTests {
+        @Test
+        @DisplayName("Should fetch distinct users concurrently")
+        void givenSlowUserService_whenFetchUserDataByIds_thenFetchesUsersConcurrently() {
+            // Given
+            var userIds = IntStream.range(0, 16)
+                    .mapToObj(i -> UUID.randomUUID().toString())
+                    .toList();
+
+            // When
+            when(userServiceClient.getById(any())).thenAnswer(invocation -> {
+                Thread.sleep(200);
+                String userId = invocation.getArgument(0);
+                return ApiResponse.success("User fetched", getUserData(userId));
+            });
+
+            var start = System.nanoTime();
+            var result = userDataService.fetchUserDataByIds(userIds);
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then
+            assertEquals(userIds.size(), result.size());
+            assertTrue(elapsed.compareTo(Duration.ofMillis(1500)) < 0,
+                    "Expected concurrent fetch, took " + elapsed.toMillis() + " ms");
+        }
+
+        @Test
+        @DisplayName("Should make caller's JWT available on worker threads")
+        void givenAuthenticatedCaller_whenFetchUserDataByIds_thenWorkerThreadsSeeJwt() {
+            // Given
+            var principal = new JwtPrincipal("USER_ID", "USER", null, "TOKEN");
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+            var userIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+            Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+            // When
+            when(userServiceClient.getById(any())).thenAnswer(invocation -> {
+                tokens.add(String.valueOf(JwtContextHolder.getToken()));
+                String userId = invocation.getArgument(0);
+                return ApiResponse.success("User fetched", getUserData(userId));
+            });
+
+            userDataService.fetchUserDataByIds(userIds);
+
+            // Then
+            assertEquals(Set.of("TOKEN"), tokens);
+        }
+    }
+
+    @Nested
+    @DisplayName("Serve stale user data")
+    class StaleUserDataTests {
+        @BeforeEach
+        void setUp() {
+            userDataCache = new UserDataCache(100, Duration.ZERO, Duration.ZERO, Duration.ofHours(1));
+            userDataService = new UserDataServiceImpl(userServiceClient, userDataCache, userDataExecutor,
+                    circuitBreakerRegistry);
+        }
+
+        @Test
+        @DisplayName("Should serve stale user data and refresh it in background")
+        void givenExpiredUserData_whenFetchUserData_thenReturnsStaleAndRefreshes() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var stale = getUserData(userId);
+            userDataCache.put(userId, stale);
+            var refreshed = new UserResponse(userId, "NEW_NAME", "TEST_SURNAME", LocalDate.of(2000, 1, 1),
+                    "TEST@EMAIL");
+
+            // When
+            when(userServiceClient.getById(userId)).thenReturn(ApiResponse.success("User fetched", refreshed));
+
+            var result = userDataService.fetchUserData(userId);
+
+            // Then
+            assertEquals(stale, result);
+            verify(userServiceClient, timeout(1000).times(1)).getById(userId);
+            await().atMost(Duration.ofSeconds(1))
+                    .untilAsserted(() -> assertEquals(refreshed, userDataCache.getStale(userId)));
+        }
+
+        @Test
+        @DisplayName("Should refresh stale user data in bulk only once while a refresh is in flight")
+        void givenRefreshInFlight_whenFetchUserDataByIds_thenDoesNotRefreshAgain() {
+            // Given
+            ReflectionTestUtils.setField(userDataService, "bulkFetchEnabled", true);
+            ReflectionTestUtils.setField(userDataService, "bulkFetchBatchSize", 100);
+            var userId = UUID.randomUUID().toString();
+            userDataCache.put(userId, getUserData(userId));
+            var release = new CountDownLatch(1);
+
+            // When
+            when(userServiceClient.getByIds(List.of(userId))).thenAnswer(invocation -> {
+                release.await(1, TimeUnit.SECONDS);
+                return ApiResponse.success("Users fetched", List.of(getUserData(userId)));
+            });
+
+            userDataService.fetchUserDataByIds(List.of(userId));
+            verify(userServiceClient, timeout(1000).times(1)).getByIds(List.of(userId));
+            var result = userDataService.fetchUserDataByIds(List.of(userId));
+            release.countDown();
+
+            // Then
+            assertEquals(Map.of(userId, getUserData(userId)), result);
+            verify(userServiceClient, after(200).times(1)).getByIds(List.of(userId));
+        }
+
+        @Test
+        @DisplayName("Should serve stale user data without refreshing it while circuit breaker is open")
+        void givenOpenCircuitBreaker_whenFetchUserDataByIds_thenReturnsStaleWithoutCallingUserService() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            userDataCache.put(userId, getUserData(userId));
+            circuitBreakerRegistry.circuitBreaker("user-service").transitionToOpenState();
+
+            // When
+            var result = userDataService.fetchUserDataByIds(List.of(userId));
+
+            // Then
+            assertEquals(Map.of(userId, getUserData(userId)), result);
+            verify(userServiceClient, after(200).never()).getById(any());
+        }
+    }
+
+    private FeignException getNotFoundException() {
+        var request = Request.create(Request.HttpMethod.GET, "/api/v1/users", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not found", request, null, Map.of());
+    }
+
+    private UserResponse getUserData(String userId) {
+        return new UserResponse(
+                userId,
+                "TEST_NAME",
+                "TEST_SURNAME",
+                LocalDate.of(2000, 1, 1),
+                "TEST@EMAIL"
+        );
+    }
+}